@@ -0,0 +1,131 @@
+package com.imperial_net.inventioryApp.sales.service;
+
+import com.imperial_net.inventioryApp.clients.dto.ClientResponseDTO;
+import com.imperial_net.inventioryApp.clients.models.Client;
+import com.imperial_net.inventioryApp.clients.service.ClientService;
+import com.imperial_net.inventioryApp.products.dto.ProductResponseDTO;
+import com.imperial_net.inventioryApp.products.models.Brand;
+import com.imperial_net.inventioryApp.products.models.Product;
+import com.imperial_net.inventioryApp.products.service.ProductService;
+import com.imperial_net.inventioryApp.sales.dto.SaleResponseDTO;
+import com.imperial_net.inventioryApp.sales.model.PaymentMethod;
+import com.imperial_net.inventioryApp.sales.model.Sale;
+import com.imperial_net.inventioryApp.sales.model.SaleDetail;
+import com.imperial_net.inventioryApp.sales.model.SaleStatus;
+import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.users.model.Role;
+import com.imperial_net.inventioryApp.users.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de convertir entidades ya cargadas en los DTOs de respuesta: ventas con {@code lines} renglones,
+ * productos y clientes. No usa base de datos; los servicios se crean sin repositorios porque la conversión no los usa.
+ * Ejecutar con: {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="DtoMappingBenchmark -prof gc"}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"1", "20", "200"})
+    private int lines;
+
+    private SaleService saleService;
+    private ProductService productService;
+    private ClientService clientService;
+
+    private Sale sale;
+    private Product product;
+    private Client client;
+
+    @Setup
+    public void setUp() {
+        clientService = new ClientService(null, null, null);
+        productService = new ProductService(null, null, null, null, null, null, null);
+        saleService = new SaleService(null, null, null, null, clientService, null, null, null, null, null, null, null);
+
+        User user = User.builder()
+                .firstName("Bench")
+                .lastName("Mark")
+                .documentNumber("30111222")
+                .email("bench@test.com")
+                .role(Role.USER)
+                .enabled(true)
+                .subscription(Subscription.PRO)
+                .build();
+
+        Brand brand = new Brand();
+        brand.setId(1L);
+        brand.setName("Marca");
+
+        product = new Product();
+        product.setId(1L);
+        product.setCode("P-1");
+        product.setName("Producto");
+        product.setDescription("Descripción del producto");
+        product.setCategory("Categoría");
+        product.setSalePrice(new BigDecimal("150.00"));
+        product.setMinStock(BigDecimal.ONE);
+        product.setStock(BigDecimal.TEN);
+        product.setBrand(brand);
+        product.setRegistratedBy(user);
+        product.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        product.setState(true);
+
+        client = new Client();
+        client.setId(1L);
+        client.setName("Cliente");
+        client.setLastname("Frecuente");
+        client.setDocumentNumber("30111333");
+        client.setEmail("cliente@test.com");
+        client.setCreatedBy(user);
+        client.setRegistrationDate(LocalDate.of(2024, 1, 1));
+        client.setActive(true);
+
+        sale = new Sale();
+        sale.setId(1L);
+        sale.setUser(user);
+        sale.setCustomer(client);
+        sale.setSaleDate(LocalDate.of(2024, 6, 1));
+        sale.setPaymentMethod(PaymentMethod.values()[0]);
+        sale.setStatus(SaleStatus.CONFIRMED);
+        sale.setDiscountApplied(BigDecimal.ZERO);
+        sale.setExtra_charge_percentage(BigDecimal.ZERO);
+        sale.setSaleDetails(new ArrayList<>(lines));
+        for (int i = 0; i < lines; i++) {
+            SaleDetail detail = new SaleDetail();
+            detail.setId((long) i);
+            detail.setSale(sale);
+            detail.setProduct(product);
+            detail.setQuantity(BigDecimal.ONE);
+            detail.setSalePrice(new BigDecimal("150.00"));
+            detail.setSubtotal(new BigDecimal("150.00"));
+            detail.setCostPrice(new BigDecimal("100.00"));
+            sale.getSaleDetails().add(detail);
+        }
+        SaleService.calcularTotales(sale);
+    }
+
+    @Benchmark
+    public SaleResponseDTO saleToDto() {
+        return saleService.convertToDTO(sale);
+    }
+
+    @Benchmark
+    public ProductResponseDTO productToDto() {
+        return productService.convertToDto(product);
+    }
+
+    @Benchmark
+    public ClientResponseDTO clientToDto() {
+        return clientService.convertToDto(client);
+    }
+}
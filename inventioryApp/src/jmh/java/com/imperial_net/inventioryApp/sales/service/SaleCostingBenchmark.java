@@ -0,0 +1,132 @@
+package com.imperial_net.inventioryApp.sales.service;
+
+import com.imperial_net.inventioryApp.products.models.Product;
+import com.imperial_net.inventioryApp.purchases.model.Purchase;
+import com.imperial_net.inventioryApp.sales.model.Sale;
+import com.imperial_net.inventioryApp.sales.model.SaleDetail;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de los cálculos de una venta sobre datos sintéticos, sin base de datos.
+ * <ul>
+ *     <li>{@code calcularTotales}: totales, descuento y recargo de un ticket de {@code lines} renglones.</li>
+ *     <li>{@code calcularCostoReal}: asignación FIFO de una venta que consume un historial de {@code lots} lotes
+ *     de una unidad cada uno (el peor caso: recorre todo el historial).</li>
+ * </ul>
+ * Ejecutar con: {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="SaleCostingBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaleCostingBenchmark {
+
+    /**
+     * Ticket sintético de {@code lines} renglones con descuento y recargo.
+     */
+    @State(Scope.Thread)
+    public static class Ticket {
+
+        @Param({"1", "20", "200"})
+        private int lines;
+
+        private Sale sale;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Product product = product();
+            sale = new Sale();
+            sale.setDiscountApplied(new BigDecimal("5"));
+            sale.setExtra_charge_percentage(new BigDecimal("10"));
+            sale.setSaleDetails(new ArrayList<>(lines));
+            for (int i = 0; i < lines; i++) {
+                sale.getSaleDetails().add(detail(sale, product, new BigDecimal(i % 7 + 1)));
+            }
+        }
+    }
+
+    /**
+     * Historial sintético de {@code lots} compras de una unidad y la venta que las consume todas.
+     * Como la asignación FIFO modifica los lotes, el estado se regenera antes de cada invocación.
+     */
+    @State(Scope.Thread)
+    public static class LotHistory {
+
+        @Param({"1", "100", "10000"})
+        private int lots;
+
+        private Product product;
+        private List<Purchase> history;
+        private Deque<Purchase> openLots;
+        private Set<Purchase> touchedLots;
+        private SaleDetail soldDetail;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            product = product();
+            history = new ArrayList<>(lots);
+            LocalDate firstPurchase = LocalDate.of(2020, 1, 1);
+            for (int i = 0; i < lots; i++) {
+                Purchase purchase = new Purchase();
+                purchase.setId((long) i);
+                purchase.setProduct(product);
+                purchase.setPurchaseDate(firstPurchase.plusDays(i));
+                purchase.setPurchasePrice(new BigDecimal(100 + i % 50));
+                purchase.setQuantity(BigDecimal.ONE);
+                history.add(purchase);
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            for (Purchase purchase : history) {
+                purchase.setRemainingStock(BigDecimal.ONE);
+                purchase.setState(true);
+            }
+            openLots = new ArrayDeque<>(history);
+            touchedLots = new HashSet<>();
+            soldDetail = detail(new Sale(), product, new BigDecimal(lots));
+        }
+    }
+
+    @Benchmark
+    public Sale calcularTotales(Ticket ticket) {
+        SaleService.calcularTotales(ticket.sale);
+        return ticket.sale;
+    }
+
+    @Benchmark
+    public BigDecimal calcularCostoReal(LotHistory lots) {
+        return SaleService.calcularCostoReal(lots.soldDetail, lots.openLots, lots.touchedLots);
+    }
+
+    private static Product product() {
+        Product product = new Product();
+        product.setId(1L);
+        product.setCode("P-1");
+        product.setName("Producto");
+        return product;
+    }
+
+    private static SaleDetail detail(Sale sale, Product product, BigDecimal quantity) {
+        SaleDetail detail = new SaleDetail();
+        detail.setSale(sale);
+        detail.setProduct(product);
+        detail.setQuantity(quantity);
+        detail.setSalePrice(new BigDecimal("150.00"));
+        detail.setSubtotal(detail.getSalePrice().multiply(quantity));
+        detail.setCostPrice(new BigDecimal("100.00"));
+        return detail;
+    }
+}
@@ -0,0 +1,76 @@
+package com.imperial_net.inventioryApp.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de analizar y verificar el JWT de una petición.
+ * <ul>
+ *     <li>{@code perRequestBefore}: comportamiento anterior, que derivaba la clave y armaba un parser nuevo
+ *     en cada llamada y analizaba el token dos veces (sujeto y validación).</li>
+ *     <li>{@code perRequestAfter}: clave y parser cacheados, un único análisis por petición.</li>
+ * </ul>
+ * Ejecutar con: {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="JwtServiceBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "VGhpc0lzQVZlcnlMb25nQmVuY2htYXJrU2VjcmV0S2V5Rm9ySldUU2lnbmluZzEyMzQ1Njc4OTA=";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        jwtService.init();
+
+        userDetails = new User("bench@test.com", "secret", List.of(new SimpleGrantedAuthority("USER")));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean perRequestBefore() {
+        String username = legacyClaims(token).getSubject();
+        if (username == null) {
+            return false;
+        }
+        Claims claims = legacyClaims(token); // segunda verificación completa dentro de isTokenValid
+        return username.equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean perRequestAfter() {
+        Claims claims = jwtService.parseClaims(token);
+        return claims.getSubject() != null && jwtService.isTokenValid(claims, userDetails);
+    }
+
+    // Reproduce la implementación previa: clave y parser nuevos en cada análisis.
+    private static Claims legacyClaims(String jwt) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+}
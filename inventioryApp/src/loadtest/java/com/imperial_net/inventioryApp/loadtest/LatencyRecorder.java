@@ -0,0 +1,92 @@
+package com.imperial_net.inventioryApp.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra la latencia de cada petición agrupada por endpoint y arma el reporte final
+ * con throughput y percentiles p50/p95/p99.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> byEndpoint = new ConcurrentHashMap<>();
+
+    /**
+     * Registra una petición.
+     *
+     * @param endpoint     nombre del endpoint.
+     * @param latencyNanos duración de la petición en nanosegundos.
+     * @param ok           si la respuesta fue exitosa (2xx).
+     */
+    public void record(String endpoint, long latencyNanos, boolean ok) {
+        byEndpoint.computeIfAbsent(endpoint, key -> new Samples()).add(latencyNanos, ok);
+    }
+
+    /**
+     * Imprime el reporte de la prueba.
+     *
+     * @param out            salida del reporte.
+     * @param elapsedSeconds duración real del tráfico medido.
+     */
+    public void print(PrintStream out, double elapsedSeconds) {
+        out.printf("%-28s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(byEndpoint).entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            totalRequests += sorted.length;
+            out.printf("%-28s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, entry.getValue().errors(), sorted.length / elapsedSeconds,
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        }
+        out.printf("Total: %d peticiones en %.1f s (%.1f req/s)%n", totalRequests, elapsedSeconds, totalRequests / elapsedSeconds);
+    }
+
+    /**
+     * Percentil por el método del rango más cercano.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Latencias de un endpoint.
+     */
+    private static class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long latencyNanos, boolean ok) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
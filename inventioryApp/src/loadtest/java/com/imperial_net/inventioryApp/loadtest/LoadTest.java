@@ -0,0 +1,78 @@
+package com.imperial_net.inventioryApp.loadtest;
+
+import com.imperial_net.inventioryApp.InventioryAppApplication;
+import com.imperial_net.inventioryApp.reports.service.DailySummaryService;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba de carga de punta a punta. Levanta la aplicación completa sobre una base H2 embebida en modo MySQL,
+ * genera los negocios sintéticos y ejecuta el tráfico mixto, informando throughput y latencias p50/p95/p99
+ * por endpoint. No necesita una base externa, por lo que las corridas son repetibles en cualquier máquina.
+ *
+ * Ejecutar con: {@code mvn -Ploadtest test-compile exec:exec}
+ * Los parámetros se ajustan con {@code -Dloadtest.args="-Dloadtest.tenants=50 -Dloadtest.users=64"}
+ * (ver {@link LoadTestConfig}).
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.setProperty("spring.devtools.restart.enabled", "false"); // Una sola instancia de la aplicación
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InventioryAppApplication.class)
+                .properties(applicationProperties())
+                .run(args);
+        try {
+            long generationStart = System.nanoTime();
+            TenantGenerator generator = new TenantGenerator(
+                    context.getBean(EntityManager.class),
+                    context.getBean(TransactionTemplate.class),
+                    context.getBean(PasswordEncoder.class),
+                    context.getBean(DailySummaryService.class),
+                    config);
+            List<TenantGenerator.Tenant> tenants = generator.generate();
+            System.out.printf("Datos generados: %s en %.1f s%n", config, (System.nanoTime() - generationStart) / 1e9);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LatencyRecorder recorder = new LatencyRecorder();
+            double elapsed = new TrafficDriver("http://localhost:" + port, tenants, config, recorder).run();
+
+            recorder.print(System.out, elapsed);
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Configuración de la aplicación para la prueba: base embebida, puerto libre, sin SQL en consola
+     * y una clave JWT generada para la corrida.
+     */
+    private static Map<String, Object> applicationProperties() {
+        byte[] jwtKey = new byte[32];
+        new SecureRandom().nextBytes(jwtKey);
+        return Map.ofEntries(
+                Map.entry("server.port", 0),
+                Map.entry("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+                Map.entry("spring.datasource.username", "sa"),
+                Map.entry("spring.datasource.password", ""),
+                Map.entry("spring.jpa.hibernate.ddl-auto", "create"),
+                Map.entry("spring.jpa.show-sql", false),
+                Map.entry("spring.mail.host", "localhost"), // La prueba no envía correos
+                Map.entry("management.health.mail.enabled", false),
+                Map.entry("management.endpoints.web.exposure.include", "health,prometheus"),
+                Map.entry("jwt.secret", Base64.getEncoder().encodeToString(jwtKey)),
+                Map.entry("reports.daily-summaries.backfill-on-startup", false),
+                Map.entry("logging.level.root", "WARN"));
+    }
+}
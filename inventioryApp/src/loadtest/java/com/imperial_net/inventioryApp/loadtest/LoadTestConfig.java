@@ -0,0 +1,34 @@
+package com.imperial_net.inventioryApp.loadtest;
+
+/**
+ * Parámetros de la prueba de carga. Se leen de propiedades del sistema {@code loadtest.*}.
+ *
+ * @param tenants           cantidad de negocios generados.
+ * @param productsPerTenant productos por negocio.
+ * @param lotsPerProduct    lotes de compra por producto (todos consumidos salvo el último).
+ * @param salesPerTenant    ventas históricas por negocio.
+ * @param expensesPerTenant gastos históricos por negocio.
+ * @param users             usuarios virtuales concurrentes.
+ * @param warmupSeconds     segundos de tráfico previo que no se miden.
+ * @param durationSeconds   segundos de tráfico medido.
+ * @param seed              semilla de los datos y del tráfico, para que las corridas sean repetibles.
+ */
+public record LoadTestConfig(int tenants, int productsPerTenant, int lotsPerProduct, int salesPerTenant,
+                             int expensesPerTenant, int users, int warmupSeconds, int durationSeconds, long seed) {
+
+    /**
+     * Lee la configuración de las propiedades del sistema, con valores por defecto para una corrida corta.
+     */
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.tenants", 10),
+                Integer.getInteger("loadtest.products-per-tenant", 100),
+                Integer.getInteger("loadtest.lots-per-product", 20),
+                Integer.getInteger("loadtest.sales-per-tenant", 1000),
+                Integer.getInteger("loadtest.expenses-per-tenant", 200),
+                Integer.getInteger("loadtest.users", 16),
+                Integer.getInteger("loadtest.warmup-seconds", 10),
+                Integer.getInteger("loadtest.duration-seconds", 60),
+                Long.getLong("loadtest.seed", 42L));
+    }
+}
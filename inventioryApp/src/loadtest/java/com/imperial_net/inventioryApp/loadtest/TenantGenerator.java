@@ -0,0 +1,245 @@
+package com.imperial_net.inventioryApp.loadtest;
+
+import com.imperial_net.inventioryApp.clients.models.Client;
+import com.imperial_net.inventioryApp.expenses.model.Expense;
+import com.imperial_net.inventioryApp.products.models.Brand;
+import com.imperial_net.inventioryApp.products.models.Product;
+import com.imperial_net.inventioryApp.providers.model.Provider;
+import com.imperial_net.inventioryApp.purchases.model.Purchase;
+import com.imperial_net.inventioryApp.reports.service.DailySummaryService;
+import com.imperial_net.inventioryApp.sales.model.PaymentMethod;
+import com.imperial_net.inventioryApp.sales.model.Sale;
+import com.imperial_net.inventioryApp.sales.model.SaleDetail;
+import com.imperial_net.inventioryApp.sales.model.SaleStatus;
+import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.users.model.Role;
+import com.imperial_net.inventioryApp.users.model.User;
+import jakarta.persistence.EntityManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Genera negocios (tenants) sintéticos con un historial realista: marcas, productos con lotes de compra ya
+ * consumidos y uno abierto, clientes, ventas y gastos repartidos en el último año.
+ * Los datos se insertan directamente con JPA y al final se reconstruyen los resúmenes diarios de cada negocio.
+ */
+public class TenantGenerator {
+
+    /**
+     * Contraseña de todos los usuarios generados.
+     */
+    public static final String PASSWORD = "loadtest";
+
+    // Stock del lote abierto de cada producto: alcanza para que las ventas de la prueba nunca se queden sin stock
+    private static final BigDecimal OPEN_LOT_QUANTITY = new BigDecimal("1000000");
+    private static final int BRANDS_PER_TENANT = 5;
+    private static final int CLIENTS_PER_TENANT = 20;
+    private static final int FLUSH_INTERVAL = 200;
+    private static final String[] EXPENSE_TYPES = {"Alquiler", "Servicios", "Sueldos", "Impuestos", "Otros"};
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final DailySummaryService dailySummaryService;
+    private final LoadTestConfig config;
+    private final Random random;
+
+    public TenantGenerator(EntityManager entityManager, TransactionTemplate transactionTemplate,
+                           PasswordEncoder passwordEncoder, DailySummaryService dailySummaryService,
+                           LoadTestConfig config) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.dailySummaryService = dailySummaryService;
+        this.config = config;
+        this.random = new Random(config.seed());
+    }
+
+    /**
+     * Genera todos los negocios configurados.
+     *
+     * @return los negocios generados, con los IDs que usa el tráfico de la prueba.
+     */
+    public List<Tenant> generate() {
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<Tenant> tenants = new ArrayList<>();
+        for (int i = 0; i < config.tenants(); i++) {
+            int index = i;
+            Tenant tenant = transactionTemplate.execute(status -> generateTenant(index, encodedPassword));
+            dailySummaryService.rebuild(tenant.userId());
+            tenants.add(tenant);
+        }
+        return tenants;
+    }
+
+    private Tenant generateTenant(int index, String encodedPassword) {
+        String prefix = "T" + index;
+        User user = User.builder()
+                .firstName("Negocio")
+                .lastName(String.valueOf(index))
+                .documentNumber(String.valueOf(40000000 + index))
+                .phone("2923000000")
+                .address("Calle " + index)
+                .email("tenant" + index + "@loadtest.local")
+                .password(encodedPassword)
+                .role(Role.USER)
+                .enabled(true)
+                .subscription(Subscription.PRO)
+                .build();
+        entityManager.persist(user);
+
+        Provider provider = new Provider();
+        provider.setName("Proveedor " + prefix);
+        provider.setCreatedBy(user);
+        entityManager.persist(provider);
+
+        List<Brand> brands = new ArrayList<>();
+        for (int b = 0; b < BRANDS_PER_TENANT; b++) {
+            Brand brand = new Brand();
+            brand.setName("Marca " + prefix + "-" + b);
+            entityManager.persist(brand);
+            brands.add(brand);
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int p = 0; p < config.productsPerTenant(); p++) {
+            products.add(product(user, provider, brands.get(p % brands.size()), prefix + "-P" + p));
+            flushPeriodically(p);
+        }
+
+        List<Client> clients = new ArrayList<>();
+        for (int c = 0; c < CLIENTS_PER_TENANT; c++) {
+            Client client = new Client();
+            client.setName("Cliente");
+            client.setLastname(prefix + "-" + c);
+            client.setDocumentNumber(String.valueOf(50000000L + index * 1000L + c));
+            client.setCreatedBy(user);
+            entityManager.persist(client);
+            clients.add(client);
+        }
+
+        for (int s = 0; s < config.salesPerTenant(); s++) {
+            sale(user, products, clients);
+            flushPeriodically(s);
+        }
+
+        for (int e = 0; e < config.expensesPerTenant(); e++) {
+            Expense expense = new Expense();
+            expense.setDate(pastDate());
+            expense.setExpenseType(EXPENSE_TYPES[random.nextInt(EXPENSE_TYPES.length)]);
+            expense.setAmount(1000 + random.nextInt(50000) / 100.0);
+            expense.setPaymentMethod(PaymentMethod.CASH.name());
+            expense.setCreatedBy(user);
+            entityManager.persist(expense);
+            flushPeriodically(e);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return new Tenant(user.getId(), user.getEmail(),
+                products.stream().map(Product::getId).toList(),
+                clients.stream().map(Client::getId).toList());
+    }
+
+    /**
+     * Crea un producto con {@code lotsPerProduct - 1} lotes ya consumidos y un lote abierto.
+     */
+    private Product product(User user, Provider provider, Brand brand, String code) {
+        BigDecimal cost = new BigDecimal(100 + random.nextInt(900));
+        Product product = new Product();
+        product.setCode(code);
+        product.setName("Producto " + code);
+        product.setSalePrice(cost.multiply(new BigDecimal("1.40")).setScale(2, RoundingMode.HALF_UP));
+        product.setMinStock(new BigDecimal(5));
+        product.setBrand(brand);
+        product.setRegistratedBy(user);
+        entityManager.persist(product);
+
+        for (int l = 0; l < config.lotsPerProduct(); l++) {
+            boolean open = l == config.lotsPerProduct() - 1;
+            Purchase purchase = new Purchase();
+            purchase.setProduct(product);
+            purchase.setProvider(provider);
+            purchase.setRegistredBy(user);
+            purchase.setPurchaseDate(LocalDate.now().minusDays(config.lotsPerProduct() - l));
+            purchase.setPurchasePrice(cost);
+            purchase.setQuantity(open ? OPEN_LOT_QUANTITY : BigDecimal.TEN);
+            entityManager.persist(purchase);
+            if (!open) {
+                purchase.setRemainingStock(BigDecimal.ZERO);
+                purchase.setState(false);
+            }
+        }
+        product.setStock(OPEN_LOT_QUANTITY);
+        return product;
+    }
+
+    /**
+     * Crea una venta confirmada de 1 a 5 renglones con fecha dentro del último año.
+     */
+    private void sale(User user, List<Product> products, List<Client> clients) {
+        Sale sale = new Sale();
+        sale.setUser(user);
+        sale.setCustomer(random.nextBoolean() ? clients.get(random.nextInt(clients.size())) : null);
+        sale.setPaymentMethod(PaymentMethod.values()[random.nextInt(PaymentMethod.values().length)]);
+        sale.setStatus(SaleStatus.CONFIRMED);
+        sale.setDiscountApplied(BigDecimal.ZERO);
+        sale.setExtra_charge_percentage(BigDecimal.ZERO);
+        sale.setSaleDetails(new ArrayList<>());
+
+        BigDecimal totalSale = BigDecimal.ZERO;
+        BigDecimal totalCost = BigDecimal.ZERO;
+        int lines = 1 + random.nextInt(5);
+        for (int d = 0; d < lines; d++) {
+            Product product = products.get(random.nextInt(products.size()));
+            BigDecimal quantity = new BigDecimal(1 + random.nextInt(3));
+            BigDecimal costPrice = product.getSalePrice().divide(new BigDecimal("1.40"), 2, RoundingMode.HALF_UP);
+
+            SaleDetail detail = new SaleDetail();
+            detail.setSale(sale);
+            detail.setProduct(product);
+            detail.setQuantity(quantity);
+            detail.setSalePrice(product.getSalePrice());
+            detail.setSubtotal(product.getSalePrice().multiply(quantity));
+            detail.setCostPrice(costPrice);
+            sale.getSaleDetails().add(detail);
+
+            totalSale = totalSale.add(detail.getSubtotal());
+            totalCost = totalCost.add(costPrice.multiply(quantity));
+        }
+        sale.setTotalSale(totalSale);
+        sale.setTotalCost(totalCost);
+        sale.setGrossProfit(totalSale.subtract(totalCost));
+        sale.setNetProfit(totalSale.subtract(totalCost));
+        entityManager.persist(sale);
+        sale.setSaleDate(pastDate()); // @PrePersist fija la fecha actual
+    }
+
+    private LocalDate pastDate() {
+        return LocalDate.now().minusDays(random.nextInt(365));
+    }
+
+    private void flushPeriodically(int count) {
+        if (count > 0 && count % FLUSH_INTERVAL == 0) {
+            entityManager.flush();
+        }
+    }
+
+    /**
+     * Negocio generado.
+     *
+     * @param userId     ID del usuario dueño del negocio.
+     * @param email      email con el que inicia sesión.
+     * @param productIds IDs de sus productos.
+     * @param clientIds  IDs de sus clientes.
+     */
+    public record Tenant(Long userId, String email, List<Long> productIds, List<Long> clientIds) {
+    }
+}
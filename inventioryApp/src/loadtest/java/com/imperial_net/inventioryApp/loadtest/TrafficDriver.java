@@ -0,0 +1,201 @@
+package com.imperial_net.inventioryApp.loadtest;
+
+import com.imperial_net.inventioryApp.loadtest.TenantGenerator.Tenant;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+/**
+ * Genera tráfico mixto contra la aplicación levantada: cada usuario virtual inicia sesión en un negocio
+ * y repite operaciones elegidas al azar según su peso (ventas, dashboard, reportes y listados).
+ * Durante el calentamiento las peticiones se hacen pero no se registran.
+ */
+public class TrafficDriver {
+
+    private final String baseUrl;
+    private final List<Tenant> tenants;
+    private final LoadTestConfig config;
+    private final LatencyRecorder recorder;
+    private final HttpClient httpClient;
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+
+    private volatile boolean measuring;
+
+    public TrafficDriver(String baseUrl, List<Tenant> tenants, LoadTestConfig config, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.tenants = tenants;
+        this.config = config;
+        this.recorder = recorder;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        YearMonth month = YearMonth.now();
+        operations.add(new Operation("POST /sales/register", 20, user -> post("/sales/register", user.checkoutBody())));
+        operations.add(new Operation("GET /dashboard/data", 10, user -> get("/dashboard/data")));
+        operations.add(new Operation("GET /reports/monthly-income", 8, user -> get("/reports/monthly-income?month=" + month)));
+        operations.add(new Operation("GET /reports/top-selling", 5, user -> get("/reports/top-selling-products?month=" + month)));
+        operations.add(new Operation("GET /reports/profitability", 4, user -> get("/reports/profitability?year=" + month.getYear())));
+        operations.add(new Operation("GET /sales/page", 15, user -> get("/sales/page?size=20")));
+        operations.add(new Operation("GET /product/page", 15, user -> get("/product/page?size=20")));
+        operations.add(new Operation("GET /clients/page", 8, user -> get("/clients/page?size=20")));
+        operations.add(new Operation("GET /expenses/page", 5, user -> get("/expenses/page?size=20")));
+        operations.add(new Operation("GET /product/low-stock", 5, user -> get("/product/low-stock")));
+        operations.add(new Operation("GET /sales/{id}", 5, user -> get("/sales/" + user.lastSaleId)));
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    /**
+     * Ejecuta el calentamiento y luego el tráfico medido.
+     *
+     * @return duración real del tráfico medido, en segundos.
+     */
+    public double run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(config.warmupSeconds()).toNanos();
+        long end = measureFrom + Duration.ofSeconds(config.durationSeconds()).toNanos();
+
+        CountDownLatch done = new CountDownLatch(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            VirtualUser user = new VirtualUser(tenants.get(i % tenants.size()), new Random(config.seed() + i));
+            Thread thread = new Thread(() -> {
+                try {
+                    user.run(end);
+                } finally {
+                    done.countDown();
+                }
+            }, "loadtest-user-" + i);
+            thread.start();
+        }
+
+        Thread.sleep(Math.max(0, (measureFrom - System.nanoTime()) / 1_000_000));
+        measuring = true;
+        long measuredStart = System.nanoTime();
+        done.await();
+        return (System.nanoTime() - measuredStart) / 1_000_000_000.0;
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private Operation pick(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    /**
+     * Operación del tráfico: nombre con el que se reporta, peso relativo y armado de la petición.
+     */
+    private record Operation(String name, int weight, Function<VirtualUser, HttpRequest.Builder> request) {
+    }
+
+    /**
+     * Usuario virtual: una sesión en un negocio que envía peticiones de a una, sin pausas.
+     */
+    private class VirtualUser {
+        private final Tenant tenant;
+        private final Random random;
+        private String cookie;
+        private long lastSaleId = 1;
+
+        VirtualUser(Tenant tenant, Random random) {
+            this.tenant = tenant;
+            this.random = random;
+        }
+
+        void run(long end) {
+            try {
+                login();
+                while (System.nanoTime() < end) {
+                    Operation operation = pick(random);
+                    HttpRequest request = operation.request().apply(this)
+                            .header("Cookie", cookie)
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                    long started = System.nanoTime();
+                    HttpResponse<String> response = send(request);
+                    long latency = System.nanoTime() - started;
+                    boolean ok = response != null && response.statusCode() / 100 == 2;
+                    if (measuring) {
+                        recorder.record(operation.name(), latency, ok);
+                    }
+                    if (ok && operation.name().startsWith("POST /sales")) {
+                        lastSaleId = extractId(response.body());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void login() throws InterruptedException {
+            HttpRequest request = post("/auth/login",
+                    "{\"email\":\"" + tenant.email() + "\",\"password\":\"" + TenantGenerator.PASSWORD + "\"}").build();
+            HttpResponse<String> response = send(request);
+            if (response == null || response.statusCode() != 200) {
+                throw new IllegalStateException("No se pudo iniciar sesión como " + tenant.email());
+            }
+            cookie = response.headers().firstValue("Set-Cookie")
+                    .map(header -> header.split(";", 2)[0])
+                    .orElseThrow(() -> new IllegalStateException("El login no devolvió la cookie de sesión"));
+        }
+
+        private HttpResponse<String> send(HttpRequest request) throws InterruptedException {
+            try {
+                return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                return null; // Se cuenta como error
+            }
+        }
+
+        /**
+         * Ticket de 1 a 5 renglones con productos y cliente del negocio.
+         */
+        String checkoutBody() {
+            StringJoiner products = new StringJoiner(",", "[", "]");
+            int lines = 1 + random.nextInt(5);
+            for (int i = 0; i < lines; i++) {
+                Long productId = tenant.productIds().get(random.nextInt(tenant.productIds().size()));
+                products.add("{\"productId\":" + productId + ",\"quantity\":" + (1 + random.nextInt(3)) + "}");
+            }
+            String client = random.nextBoolean()
+                    ? ",\"clientId\":" + tenant.clientIds().get(random.nextInt(tenant.clientIds().size()))
+                    : "";
+            return "{\"products\":" + products + ",\"paymentMethod\":\"CASH\"" + client + "}";
+        }
+
+        private long extractId(String json) {
+            int start = json.indexOf("\"id\":") + 5;
+            int end = start;
+            while (end < json.length() && Character.isDigit(json.charAt(end))) {
+                end++;
+            }
+            return end > start ? Long.parseLong(json.substring(start, end)) : lastSaleId;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.imperial_net.inventioryApp;
 
+import com.imperial_net.inventioryApp.config.ReadWriteOpenInViewListener;
 import com.imperial_net.inventioryApp.users.service.UserService;
 import jakarta.annotation.PostConstruct;
 
@@ -14,7 +15,9 @@ public class InventioryAppApplication {
 
 
 	public static void main(String[] args) {
-		SpringApplication.run(InventioryAppApplication.class, args);
+		SpringApplication application = new SpringApplication(InventioryAppApplication.class);
+		application.addListeners(new ReadWriteOpenInViewListener());
+		application.run(args);
 	}
 
 	@PostConstruct
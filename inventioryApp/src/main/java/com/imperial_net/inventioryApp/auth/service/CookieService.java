@@ -11,6 +11,8 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
@@ -20,6 +22,11 @@ import java.util.Optional;
 @Service
 public class CookieService {
 
+    /**
+     * Atributo de la petición donde se guarda el usuario ya resuelto, para no volver a buscarlo en la misma petición.
+     */
+    public static final String AUTHENTICATED_USER_ATTRIBUTE = CookieService.class.getName() + ".user";
+
     private final JwtService jwtService;
     private final UserRepository userRepository;
 
@@ -41,11 +48,22 @@ public class CookieService {
 
     /**
      * Obtiene el usuario autenticado a partir del token JWT presente en la cookie.
+     * Se resuelve una sola vez por petición: si el filtro de autenticación ya cargó al usuario se toma
+     * del contexto de seguridad; si no, se lee el token y se guarda el resultado en la petición.
      *
      * @param request la petición HTTP entrante
      * @return el usuario autenticado si la cookie y el token son válidos
      */
     public Optional<User> getUserFromCookie(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return Optional.of(user);
+        }
+
+        if (request.getAttribute(AUTHENTICATED_USER_ATTRIBUTE) instanceof User user) {
+            return Optional.of(user);
+        }
+
         String token = getAuthTokenFromCookies(request);
         if (token == null) {
             return Optional.empty();
@@ -56,7 +74,9 @@ public class CookieService {
             return Optional.empty();
         }
 
-        return userRepository.findByEmail(username);
+        Optional<User> user = userRepository.findByEmail(username);
+        user.ifPresent(found -> request.setAttribute(AUTHENTICATED_USER_ATTRIBUTE, found));
+        return user;
     }
 
     /**
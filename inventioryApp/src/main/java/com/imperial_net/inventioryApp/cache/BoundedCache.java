@@ -0,0 +1,125 @@
+package com.imperial_net.inventioryApp.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Caché en memoria acotada, base de las cachés de la aplicación.
+ * Guarda como máximo {@code maxEntries} valores; al llenarse descarta el usado hace más tiempo sin recorrer la caché,
+ * porque las entradas se mantienen ordenadas por último acceso. Cada valor vence a los {@code ttlMillis} de guardado.
+ *
+ * Los accesos se sincronizan sobre la caché; los valores deben calcularse fuera de ella y guardarse con {@link #put}.
+ *
+ * @param <K> tipo de las claves.
+ * @param <V> tipo de los valores.
+ */
+public class BoundedCache<K, V> {
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final long ttlMillis;
+
+    /**
+     * @param maxEntries cantidad máxima de valores guardados.
+     * @param ttlMillis  vigencia de cada valor, en milisegundos.
+     */
+    public BoundedCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, (key, value) -> {
+        });
+    }
+
+    /**
+     * @param maxEntries cantidad máxima de valores guardados.
+     * @param ttlMillis  vigencia de cada valor, en milisegundos.
+     * @param onEvict    acción ejecutada con cada valor descartado por falta de espacio.
+     */
+    public BoundedCache(int maxEntries, long ttlMillis, BiConsumer<K, V> onEvict) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= maxEntries) {
+                    return false;
+                }
+                onEvict.accept(eldest.getKey(), eldest.getValue().value());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el valor guardado bajo la clave.
+     *
+     * @param key clave del valor.
+     * @return el valor, o null si no está guardado o ya venció.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Guarda un valor, reemplazando el anterior de la clave.
+     *
+     * @param key   clave del valor.
+     * @param value valor a guardar.
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Descarta el valor de la clave.
+     *
+     * @param key clave del valor.
+     */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Descarta el valor de la clave solo si sigue siendo el indicado.
+     *
+     * @param key   clave del valor.
+     * @param value valor guardado previamente.
+     */
+    public synchronized void remove(K key, V value) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.value() == value) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Descarta los valores cuyas claves cumplen la condición. Recorre toda la caché.
+     *
+     * @param filter condición sobre la clave.
+     */
+    public synchronized void removeIf(Predicate<K> filter) {
+        Iterator<K> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (filter.test(keys.next())) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * @return la cantidad de valores guardados, incluidos los vencidos que aún no se descartaron.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.imperial_net.inventioryApp.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Acciones diferidas al final de la transacción en curso, usadas por las cachés para no conservar
+ * ni publicar datos que la transacción todavía puede cambiar o deshacer.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Ejecuta la acción al terminar la transacción en curso, se confirme o se deshaga.
+     * Sin transacción no hace nada: quien llama ya aplicó el efecto de inmediato.
+     *
+     * @param action acción a ejecutar.
+     */
+    public static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Ejecuta la acción cuando la transacción en curso se confirma, o de inmediato si no hay transacción.
+     *
+     * @param action acción a ejecutar.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
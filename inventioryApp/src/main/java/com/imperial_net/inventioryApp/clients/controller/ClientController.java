@@ -7,6 +7,7 @@ package com.imperial_net.inventioryApp.clients.controller;
 import com.imperial_net.inventioryApp.clients.dto.ClientRequestDTO;
 import com.imperial_net.inventioryApp.clients.dto.ClientResponseDTO;
 import com.imperial_net.inventioryApp.clients.service.ClientService;
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -47,6 +48,22 @@ public class ClientController {
         return ResponseEntity.ok(clientService.getAllClientsForUser(request));
     }
 
+    /**
+     * Obtiene una página de clientes del usuario autenticado, paginada por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior; se omite para la primera página.
+     * @param size    cantidad de elementos por página (máximo 100).
+     * @param request solicitud HTTP con la sesión del usuario.
+     * @return página de clientes con el cursor de la siguiente.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<ClientResponseDTO>> getClientsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(clientService.getClientsPageForUser(request, cursor, size));
+    }
+
     /**
      * Actualiza los datos de un cliente existente.
      *
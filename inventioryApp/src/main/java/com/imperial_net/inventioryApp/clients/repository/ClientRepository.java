@@ -7,6 +7,7 @@ package com.imperial_net.inventioryApp.clients.repository;
 import com.imperial_net.inventioryApp.clients.models.Client;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Size;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -26,6 +27,25 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
      */
     List<Client> findAllByCreatedBy_Id(Long userId);
 
+    /**
+     * Primera página de clientes de un usuario, de los más recientes a los más antiguos.
+     *
+     * @param userId ID del usuario.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de clientes ordenada por ID descendente.
+     */
+    List<Client> findByCreatedBy_IdOrderByIdDesc(Long userId, Limit limit);
+
+    /**
+     * Página siguiente de clientes de un usuario a partir del último ID entregado (paginación por cursor).
+     *
+     * @param userId ID del usuario.
+     * @param lastId último ID de la página anterior.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de clientes con ID menor a lastId, ordenada por ID descendente.
+     */
+    List<Client> findByCreatedBy_IdAndIdLessThanOrderByIdDesc(Long userId, Long lastId, Limit limit);
+
     /**
      * Busca un cliente por su número de documento y el ID del usuario creador.
      *
@@ -9,13 +9,17 @@ import com.imperial_net.inventioryApp.clients.dto.ClientRequestDTO;
 import com.imperial_net.inventioryApp.clients.dto.ClientResponseDTO;
 import com.imperial_net.inventioryApp.exceptions.ClientException;
 import com.imperial_net.inventioryApp.clients.models.Client;
-import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
+import com.imperial_net.inventioryApp.pagination.PageCursor;
+import com.imperial_net.inventioryApp.suscriptions.model.RecordType;
+import com.imperial_net.inventioryApp.suscriptions.service.PlanQuotaService;
 import com.imperial_net.inventioryApp.users.model.User;
 import com.imperial_net.inventioryApp.clients.repository.ClientRepository;
 import com.imperial_net.inventioryApp.auth.service.CookieService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -28,6 +32,7 @@ public class ClientService {
 
     private final ClientRepository clientRepository;
     private final CookieService cookieService;
+    private final PlanQuotaService planQuotaService;
 
     /**
      * Registra un nuevo cliente asociado al usuario autenticado.
@@ -36,6 +41,7 @@ public class ClientService {
      * @param request   petición HTTP para obtener el usuario
      * @return cliente registrado en formato DTO
      */
+    @Transactional
     public ClientResponseDTO registerClient(ClientRequestDTO clientDto, HttpServletRequest request) {
         User user = cookieService.getUserFromCookie(request)
                 .orElseThrow(() -> new ClientException("Usuario no autenticado. No se puede registrar el cliente."));
@@ -52,7 +58,7 @@ public class ClientService {
         client.setCreatedBy(user);
         client.setActive(true);
 
-        if (this.validateNumberOfRecords(user)) {
+        if (planQuotaService.tryRegister(user, RecordType.CLIENT, () -> clientRepository.countClientsByUserId(user.getId()))) {
             Client savedClient = clientRepository.save(client);
             return convertToDto(savedClient);
         } else {
@@ -66,6 +72,7 @@ public class ClientService {
      * @param request petición HTTP que contiene la cookie
      * @return lista de clientes en formato DTO
      */
+    @Transactional(readOnly = true)
     public List<ClientResponseDTO> getAllClientsForUser(HttpServletRequest request) {
         Long userId = cookieService.getUserFromCookie(request)
                 .map(User::getId)
@@ -76,6 +83,29 @@ public class ClientService {
                 .toList();
     }
 
+    /**
+     * Obtiene una página de clientes del usuario autenticado, de los más recientes a los más antiguos.
+     * Usa paginación por cursor: cada página cuesta una consulta acotada sin importar su posición.
+     *
+     * @param request petición HTTP con la cookie del usuario.
+     * @param cursor  cursor devuelto por la página anterior, o null para la primera.
+     * @param size    tamaño de página (por defecto {@value PageCursor#DEFAULT_SIZE}, máximo {@value PageCursor#MAX_SIZE}).
+     * @return la página de clientes y el cursor de la siguiente.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ClientResponseDTO> getClientsPageForUser(HttpServletRequest request, String cursor, Integer size) {
+        Long userId = cookieService.getUserFromCookie(request)
+                .map(User::getId)
+                .orElseThrow(() -> new ClientException("Usuario no autenticado"));
+
+        int pageSize = PageCursor.pageSize(size);
+        Long lastId = PageCursor.decode(cursor);
+        List<Client> rows = lastId == null
+                ? clientRepository.findByCreatedBy_IdOrderByIdDesc(userId, PageCursor.queryLimit(pageSize))
+                : clientRepository.findByCreatedBy_IdAndIdLessThanOrderByIdDesc(userId, lastId, PageCursor.queryLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, Client::getId, this::convertToDto);
+    }
+
     /**
      * Actualiza la información de un cliente existente.
      *
@@ -83,6 +113,7 @@ public class ClientService {
      * @param clientRequest nuevos datos del cliente
      * @param request       petición HTTP que contiene la sesión
      */
+    @Transactional
     public void updateClient(Long id, ClientRequestDTO clientRequest, HttpServletRequest request) {
         Client client = clientRepository.findById(id)
                 .orElseThrow(() -> new ClientException("Cliente no encontrado en la base de datos"));
@@ -190,6 +221,7 @@ public class ClientService {
      *
      * @param id ID del cliente
      */
+    @Transactional
     public void toggleClientStatus(Long id) {
         Optional<Client> optionalClient = clientRepository.findById(id);
         if (optionalClient.isPresent()) {
@@ -198,17 +230,4 @@ public class ClientService {
             clientRepository.save(client);
         }
     }
-
-    /**
-     * Valida si el usuario tiene permitido registrar más clientes según su plan de suscripción.
-     *
-     * @param user usuario autenticado
-     * @return true si puede registrar más clientes, false si llegó al límite
-     */
-    public boolean validateNumberOfRecords(User user) {
-        if (user.getSubscription() == Subscription.FREE) {
-            return clientRepository.countClientsByUserId(user.getId()) < 10;
-        }
-        return true;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+/**
+ * Configuración del ejecutor usado para calcular en paralelo las secciones del dashboard.
+ * El pool es acotado: si se llena la cola, la sección se rechaza y el dashboard la devuelve vacía, sin ocupar el hilo
+ * de la solicitud ni tomar más conexiones.
+ */
+package com.imperial_net.inventioryApp.config;
+
+import com.imperial_net.inventioryApp.tracing.SqlTrace;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${dashboard.widgets.pool-size:8}") int poolSize,
+                                                    @Value("${dashboard.widgets.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(SqlTrace::wrap); // Las consultas de cada sección cuentan en la traza de la petición
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+}
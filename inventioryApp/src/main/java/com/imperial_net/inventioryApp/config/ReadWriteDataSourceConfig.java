@@ -0,0 +1,69 @@
+/**
+ * Configuración de la separación entre lecturas y escrituras de la base de datos.
+ * Se activa solo si se define {@code app.datasource.read.url}; sin esa propiedad la aplicación usa el
+ * datasource único de {@code spring.datasource.*}.
+ */
+package com.imperial_net.inventioryApp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Define dos pools: el principal para las escrituras y uno de lectura (réplica u otra instancia).
+ * Las transacciones {@code @Transactional(readOnly = true)} toman la conexión del pool de lectura; el resto,
+ * del principal. La conexión real se obtiene recién en la primera sentencia, cuando el administrador de
+ * transacciones ya marcó la conexión como de solo lectura, por lo que la elección no depende del orden de inicio.
+ * Las lecturas en la réplica pueden mostrar datos con el retraso propio de la replicación.
+ * La elección es por conexión, por eso Open Session in View se desactiva con esta configuración
+ * ({@link ReadWriteOpenInViewListener}) y los métodos que leen y luego escriben son transaccionales.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read", name = "url")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read")
+    public DataSourceProperties readDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read.hikari")
+    public HikariDataSource readDataSource(@Qualifier("readDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Datasource que usa JPA: enruta cada transacción al pool que corresponde según sea o no de solo lectura.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Desactiva Open Session in View cuando se separan lecturas y escrituras.
+ * Con la sesión abierta durante toda la petición, Hibernate conserva la primera conexión que obtiene: si es del
+ * pool de lectura (por ejemplo, la de un {@code findById}), una escritura posterior en la misma petición correría
+ * en la réplica. Sin la sesión abierta, cada transacción toma su conexión del pool que le corresponde.
+ */
+package com.imperial_net.inventioryApp.config;
+
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+public class ReadWriteOpenInViewListener implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        ConfigurableEnvironment environment = event.getEnvironment();
+        if (environment.containsProperty("app.datasource.read.url")) {
+            environment.getPropertySources().addFirst(
+                    new MapPropertySource("readWriteSplit", Map.of("spring.jpa.open-in-view", "false")));
+        }
+    }
+}
@@ -83,4 +83,9 @@ public class DashboardResponseDTO {
      * Lista de ganancias mensuales del trimestre actual.
      */
     private List<QuarterlyMonthProfitDTO> quarterlyProfits;
+
+    /**
+     * Secciones que no pudieron calcularse a tiempo (o fallaron) y se devuelven con valores vacíos.
+     */
+    private List<String> unavailableSections;
 } 
\ No newline at end of file
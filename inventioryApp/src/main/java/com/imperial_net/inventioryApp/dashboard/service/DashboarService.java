@@ -4,153 +4,184 @@ import com.imperial_net.inventioryApp.auth.service.CookieService;
 import com.imperial_net.inventioryApp.clients.repository.ClientRepository;
 import com.imperial_net.inventioryApp.dashboard.dto.DashboardResponseDTO;
 import com.imperial_net.inventioryApp.exceptions.ProductException;
-import com.imperial_net.inventioryApp.expenses.model.Expense;
-import com.imperial_net.inventioryApp.expenses.repository.ExpenseRepository;
 import com.imperial_net.inventioryApp.products.dto.StockLowDTO;
 import com.imperial_net.inventioryApp.products.repository.ProductRepository;
 import com.imperial_net.inventioryApp.products.service.ProductService;
-import com.imperial_net.inventioryApp.purchases.model.Purchase;
 import com.imperial_net.inventioryApp.purchases.repository.PurchaseRepository;
 import com.imperial_net.inventioryApp.reports.dto.*;
+import com.imperial_net.inventioryApp.reports.model.DailySummary;
+import com.imperial_net.inventioryApp.reports.repository.DailySummaryRepository;
 import com.imperial_net.inventioryApp.reports.service.ReportService;
-import com.imperial_net.inventioryApp.sales.model.Sale;
-import com.imperial_net.inventioryApp.sales.model.SaleDetail;
 import com.imperial_net.inventioryApp.sales.repository.SaleDetailRepository;
-import com.imperial_net.inventioryApp.sales.repository.SaleRepository;
 import com.imperial_net.inventioryApp.users.model.User;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Servicio para obtener datos y estadísticas del panel de control.
+ * El usuario se resuelve una sola vez por solicitud y los indicadores de ganancias se calculan a partir de los
+ * resúmenes diarios: una consulta agregada para los totales históricos y otra para los días del trimestre y la semana.
+ * Las secciones independientes se calculan en paralelo, por lo que la demora total es la de la sección más lenta.
+ * Cada sección corre en su propia transacción de solo lectura: usa una sola conexión (de la base de lectura si está
+ * configurada) y Hibernate no guarda copias del estado de las entidades que carga.
  */
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class DashboarService {
 
     private final CookieService cookieService;
-    private final SaleRepository saleRepository;
-    private final ExpenseRepository expenseRepository;
     private final SaleDetailRepository saleDetailRepository;
     private final ProductService productService;
     private final ReportService reportService;
     private final ClientRepository clientRepository;
     private final ProductRepository productRepository;
     private final PurchaseRepository purchaseRepository;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final ThreadPoolTaskExecutor dashboardExecutor;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${dashboard.widgets.timeout-ms:3000}")
+    private long sectionTimeoutMs;
 
     /**
-     * Obtiene la ganancia neta total del usuario.
+     * Compila y devuelve todos los datos del dashboard.
+     * Cada sección independiente se calcula en paralelo en el ejecutor del dashboard, con un tiempo máximo propio;
+     * si una sección falla o no termina a tiempo se devuelve vacía y se informa en {@code unavailableSections}.
      *
-     * @param request la solicitud HTTP que contiene la cookie del usuario.
-     * @return ganancia neta total.
+     * @param request la solicitud HTTP.
+     * @return objeto con todos los datos del panel.
      */
-    public BigDecimal getTotalNetProfit(HttpServletRequest request) {
-        User user = getUserFromCookie(request);
-
-        List<Sale> allSales = saleRepository.findByUser(user);
-        List<Expense> allExpenses = expenseRepository.findAllByCreatedBy_Id(user.getId());
-
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalCost = BigDecimal.ZERO;
-        BigDecimal totalExpenses = BigDecimal.ZERO;
-
-        for (Sale sale : allSales) {
-            totalIncome = totalIncome.add(sale.getTotalSale());
-            totalCost = totalCost.add(sale.getTotalCost());
-        }
-
-        for (Expense expense : allExpenses) {
-            totalExpenses = totalExpenses.add(BigDecimal.valueOf(expense.getAmount()));
-        }
-
-        return totalIncome.subtract(totalCost.add(totalExpenses));
+    public DashboardResponseDTO getDashboardData(HttpServletRequest request) {
+        Long userId = getUserFromCookie(request).getId();
+        LocalDate today = LocalDate.now();
+        List<String> unavailable = new CopyOnWriteArrayList<>();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // Las consultas de la sección se cortan en la base al vencer su tiempo (en segundos, redondeado hacia arriba)
+        readOnly.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sectionTimeoutMs + 999)));
+
+        CompletableFuture<ProfitKpis> profits = section("profits", readOnly, () -> getProfitKpis(userId, today), ProfitKpis.empty(today), unavailable);
+        CompletableFuture<BigDecimal> investedCapital = section("investedCapital", readOnly, () -> purchaseRepository.sumInvestedCapitalByUser(userId), BigDecimal.ZERO, unavailable);
+        CompletableFuture<Long> clients = section("registeredClients", readOnly, () -> clientRepository.countClientsByUserId(userId), 0L, unavailable);
+        CompletableFuture<Long> products = section("registeredProducts", readOnly, () -> productRepository.countByRegistratedBy_Id(userId), 0L, unavailable);
+        CompletableFuture<List<TopSellingProductResponse>> topProducts = section("topSellingProducts", readOnly, () -> getTop10MostSoldProducts(userId, today), List.of(), unavailable);
+        CompletableFuture<List<StockLowDTO>> lowStock = section("lowStockProducts", readOnly, () -> productService.findLowStockProducts(userId), List.of(), unavailable);
+        CompletableFuture<List<TopCustomerResponse>> topCustomers = section("topCustomers", readOnly, () -> reportService.getTopCustomersForMonth(YearMonth.from(today), userId), List.of(), unavailable);
+
+        CompletableFuture.allOf(profits, investedCapital, clients, products, topProducts, lowStock, topCustomers).join();
+
+        ProfitKpis kpis = profits.join();
+        return new DashboardResponseDTO(
+                kpis.totalNetProfit,
+                kpis.currentMonthProfit,
+                kpis.totalProfitability,
+                kpis.todayProfit,
+                kpis.quarterlyProfits.stream()
+                        .map(QuarterlyMonthProfitDTO::getProfit)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add),
+                investedCapital.join(),
+                clients.join(),
+                products.join(),
+                topProducts.join(),
+                lowStock.join(),
+                topCustomers.join(),
+                kpis.weeklyProfits,
+                kpis.quarterlyProfits,
+                List.copyOf(unavailable)
+        );
     }
 
     /**
-     * Obtiene la ganancia neta del mes actual.
-     *
-     * @param request la solicitud HTTP que contiene la cookie del usuario.
-     * @return ganancia del mes actual.
+     * Ejecuta una sección del dashboard en el ejecutor dedicado, dentro de la transacción {@code transaction}.
+     * Nunca termina con error: ante una excepción, si el ejecutor está lleno o al vencer el tiempo máximo devuelve {@code fallback}.
+     * El tiempo se cuenta desde que la sección entra al ejecutor, incluida la espera en cola. Al vencer se cancela la tarea:
+     * si todavía estaba en cola no llega a ejecutarse, y si estaba corriendo se interrumpe su hilo, mientras el tiempo
+     * máximo de la transacción corta la consulta en curso y libera la conexión.
      */
-    public BigDecimal getCurrentMonthProfit(HttpServletRequest request) {
-        User user = getUserFromCookie(request);
-        YearMonth currentMonth = YearMonth.now();
-        LocalDate startDate = currentMonth.atDay(1);
-        LocalDate endDate = currentMonth.atEndOfMonth();
-
-        List<Sale> sales = saleRepository.findSalesBetweenDates(startDate, endDate, user.getId());
-        List<Expense> expenses = expenseRepository.findExpensesBetweenDates(startDate, endDate, user.getId());
-
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalCost = BigDecimal.ZERO;
-        BigDecimal totalExpenses = BigDecimal.ZERO;
-
-        for (Sale sale : sales) {
-            totalIncome = totalIncome.add(sale.getTotalSale());
-            totalCost = totalCost.add(sale.getTotalCost());
-        }
-
-        for (Expense expense : expenses) {
-            totalExpenses = totalExpenses.add(BigDecimal.valueOf(expense.getAmount()));
+    private <T> CompletableFuture<T> section(String name, TransactionTemplate transaction, Supplier<T> supplier, T fallback, List<String> unavailable) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                result.complete(transaction.execute(status -> supplier.get()));
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        }, null);
+        try {
+            dashboardExecutor.execute(task);
+        } catch (TaskRejectedException ex) {
+            result.completeExceptionally(ex); // Ejecutor lleno: la sección se devuelve vacía sin ocupar el hilo de la solicitud
         }
+        return result.orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    task.cancel(true);
+                    log.warn("No se pudo calcular la sección '{}' del dashboard: {}", name, ex.toString());
+                    unavailable.add(name);
+                    return fallback;
+                });
+    }
 
-        return totalIncome.subtract(totalCost.add(totalExpenses));
+    /**
+     * Calcula los indicadores de ganancias a partir de los resúmenes diarios:
+     * los totales históricos y los días del trimestre y la semana actuales.
+     */
+    private ProfitKpis getProfitKpis(Long userId, LocalDate today) {
+        PeriodTotalsDTO lifetime = dailySummaryRepository.sumAll(userId);
+        ProfitKpis kpis = getRecentProfits(userId, today);
+        kpis.totalNetProfit = netProfit(lifetime.getIncome(), lifetime.getProductCost(), lifetime.getExpenseTotal());
+        kpis.totalProfitability = getProfitability(lifetime);
+        return kpis;
     }
 
     /**
-     * Calcula la rentabilidad del negocio como porcentaje.
+     * Calcula la rentabilidad histórica del negocio como porcentaje.
      *
-     * @param request la solicitud HTTP que contiene la cookie del usuario.
+     * @param lifetime totales históricos del usuario.
      * @return rentabilidad en porcentaje.
      */
-    public BigDecimal getTotalProfitability(HttpServletRequest request) {
-        User user = getUserFromCookie(request);
-
-        List<Sale> allSales = saleRepository.findByUser(user);
-        List<Expense> allExpenses = expenseRepository.findAllByCreatedBy_Id(user.getId());
-
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalCost = BigDecimal.ZERO;
-
-        for (Sale sale : allSales) {
-            totalIncome = totalIncome.add(sale.getTotalSale());
-            totalCost = totalCost.add(sale.getTotalCost());
-        }
-
-        for (Expense expense : allExpenses) {
-            totalCost = totalCost.add(BigDecimal.valueOf(expense.getAmount()));
-        }
-
-        if (totalIncome.compareTo(BigDecimal.ZERO) == 0) {
+    private BigDecimal getProfitability(PeriodTotalsDTO lifetime) {
+        if (lifetime.getIncome().compareTo(BigDecimal.ZERO) == 0) {
             return BigDecimal.ZERO;
         }
 
-        BigDecimal netProfit = totalIncome.subtract(totalCost);
-        return netProfit.divide(totalIncome, 4, BigDecimal.ROUND_HALF_UP)
+        BigDecimal netProfit = netProfit(lifetime.getIncome(), lifetime.getProductCost(), lifetime.getExpenseTotal());
+        return netProfit.divide(lifetime.getIncome(), 4, BigDecimal.ROUND_HALF_UP)
                 .multiply(BigDecimal.valueOf(100));
     }
 
     /**
      * Devuelve los 10 productos más vendidos por el usuario.
      *
-     * @param request la solicitud HTTP que contiene la cookie del usuario.
+     * @param userId ID del usuario.
+     * @param today  fecha actual.
      * @return lista de productos más vendidos.
      */
-    public List<TopSellingProductResponse> getTop10MostSoldProducts(HttpServletRequest request) {
-        User user = getUserFromCookie(request);
-
+    private List<TopSellingProductResponse> getTop10MostSoldProducts(Long userId, LocalDate today) {
         LocalDate startDate = LocalDate.of(2000, 1, 1);
-        LocalDate endDate = LocalDate.now();
 
-        List<Object[]> results = saleDetailRepository.findTop10SellingProducts(startDate, endDate, user.getId());
+        List<Object[]> results = saleDetailRepository.findTop10SellingProducts(startDate, today, userId);
 
         return results.stream()
                 .map(row -> new TopSellingProductResponse(
@@ -163,186 +194,61 @@ public class DashboarService {
     }
 
     /**
-     * Obtiene la lista de productos con bajo stock.
-     *
-     * @param request la solicitud HTTP que contiene la cookie del usuario.
-     * @return lista de productos con stock bajo.
-     */
-    public List<StockLowDTO> getLowStockProducts(HttpServletRequest request) {
-        return productService.findLowStockProducts(request);
-    }
-
-    /**
-     * Devuelve la ganancia de los últimos 7 días.
-     *
-     * @param request la solicitud HTTP que contiene la cookie del usuario.
-     * @return lista de ganancias diarias.
-     */
-    public List<DailyProfitDTO> getLast7DaysProfits(HttpServletRequest request) {
-        User user = getUserFromCookie(request);
-        List<DailyProfitDTO> profits = new ArrayList<>();
-
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            DailyIncomeResponse income = reportService.getDailyIncome(date, request);
-            profits.add(new DailyProfitDTO(date, income.getGrossProfit()));
-        }
-
-        return profits;
-    }
-
-    /**
-     * Retorna la ganancia total del trimestre actual.
-     *
-     * @param request la solicitud HTTP.
-     * @return ganancia del trimestre.
-     */
-    public DailyIncomeResponse getCurrentQuarterProfit(HttpServletRequest request) {
-        return reportService.getCurrentQuarterIncome(request);
-    }
-
-    /**
-     * Obtiene los clientes que más compraron este mes.
-     *
-     * @param request la solicitud HTTP.
-     * @return lista de clientes top.
-     */
-    public List<TopCustomerResponse> getTopClientsThisMonth(HttpServletRequest request) {
-        return reportService.getTopCustomersOfCurrentMonth(request);
-    }
-
-    /**
-     * Devuelve el total de clientes registrados del usuario autenticado.
+     * Calcula con una sola lectura de resúmenes diarios la ganancia de hoy, la del mes actual,
+     * la de cada mes del trimestre y la de los últimos 7 días.
      *
-     * @param request la solicitud HTTP.
-     * @return número de clientes registrados.
+     * @param userId ID del usuario.
+     * @param today  fecha actual.
+     * @return ganancias recientes.
      */
-    public Long getTotalRegisteredClients(HttpServletRequest request) {
-        Long userId = cookieService.getUserFromCookie(request)
-                .map(User::getId)
-                .orElseThrow(() -> new ProductException("Usuario no autenticado"));
+    private ProfitKpis getRecentProfits(Long userId, LocalDate today) {
+        int quarterStartMonth = ((today.getMonthValue() - 1) / 3) * 3 + 1;
+        LocalDate quarterStart = LocalDate.of(today.getYear(), quarterStartMonth, 1);
+        LocalDate weekStart = today.minusDays(6);
+        LocalDate from = weekStart.isBefore(quarterStart) ? weekStart : quarterStart;
 
-        return clientRepository.countClientsByUserId(userId);
-    }
+        Map<LocalDate, DailySummary> byDay = dailySummaryRepository
+                .findByUserIdAndSummaryDateBetweenOrderBySummaryDateAsc(userId, from, today).stream()
+                .collect(Collectors.toMap(DailySummary::getSummaryDate, Function.identity()));
 
-    /**
-     * Devuelve el total de productos registrados por el usuario.
-     *
-     * @param request la solicitud HTTP.
-     * @return número de productos registrados.
-     */
-    public Long getTotalRegisteredProducts(HttpServletRequest request) {
-        Long userId = cookieService.getUserFromCookie(request)
-                .map(User::getId)
-                .orElseThrow(() -> new ProductException("Usuario no autenticado"));
-
-        return productRepository.countByRegistratedBy_Id(userId);
-    }
-
-    /**
-     * Retorna el capital actualmente invertido en productos con stock.
-     *
-     * @param request la solicitud HTTP.
-     * @return capital invertido.
-     */
-    public BigDecimal getTotalInvestedCapital(HttpServletRequest request) {
-        Long userId = cookieService.getUserFromCookie(request)
-                .map(User::getId)
-                .orElseThrow(() -> new ProductException("Usuario no autenticado"));
+        ProfitKpis recent = new ProfitKpis();
 
-        List<Purchase> purchases = purchaseRepository.findActivePurchasesWithStockByUser(userId);
-
-        BigDecimal totalInvestment = BigDecimal.ZERO;
-
-        for (Purchase purchase : purchases) {
-            BigDecimal investment = purchase.getPurchasePrice().multiply(purchase.getRemainingStock());
-            totalInvestment = totalInvestment.add(investment);
+        // Ganancia bruta diaria de la semana (ingresos - costo de lo vendido)
+        for (int i = 6; i >= 0; i--) {
+            LocalDate date = today.minusDays(i);
+            DailySummary summary = byDay.get(date);
+            BigDecimal profit = summary != null ? summary.getIncome().subtract(summary.getProductCost()) : BigDecimal.ZERO;
+            recent.weeklyProfits.add(new DailyProfitDTO(date, profit));
         }
+        recent.todayProfit = recent.weeklyProfits.get(6).getProfit();
 
-        return totalInvestment;
-    }
-
-    /**
-     * Devuelve la ganancia neta del día de hoy.
-     *
-     * @param request la solicitud HTTP.
-     * @return ganancia de hoy.
-     */
-    public DailyIncomeResponse getTodayProfit(HttpServletRequest request) {
-        return reportService.getTodayIncome(request);
-    }
-
-    /**
-     * Compila y devuelve todos los datos del dashboard.
-     *
-     * @param request la solicitud HTTP.
-     * @return objeto con todos los datos del panel.
-     */
-    public DashboardResponseDTO getDashboardData(HttpServletRequest request) {
-        return new DashboardResponseDTO(
-                getTotalNetProfit(request),
-                getCurrentMonthProfit(request),
-                getTotalProfitability(request),
-                getTodayProfit(request).getGrossProfit(),
-                getCurrentQuarterMonthlyProfits(request).stream()
-                        .map(QuarterlyMonthProfitDTO::getProfit)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add),
-                getTotalInvestedCapital(request),
-                getTotalRegisteredClients(request),
-                getTotalRegisteredProducts(request),
-                getTop10MostSoldProducts(request),
-                getLowStockProducts(request),
-                getTopClientsThisMonth(request),
-                getLast7DaysProfits(request),
-                getCurrentQuarterMonthlyProfits(request)
-        );
-    }
-
-    /**
-     * Devuelve las ganancias mensuales correspondientes al trimestre actual.
-     *
-     * @param request la solicitud HTTP.
-     * @return lista con las ganancias de cada mes del trimestre.
-     */
-    public List<QuarterlyMonthProfitDTO> getCurrentQuarterMonthlyProfits(HttpServletRequest request) {
-        User user = getUserFromCookie(request);
-        LocalDate now = LocalDate.now();
-        int currentMonth = now.getMonthValue();
-        int quarterStartMonth = ((currentMonth - 1) / 3) * 3 + 1;
-
-        List<QuarterlyMonthProfitDTO> monthlyProfits = new ArrayList<>();
-
+        // Ganancia neta de cada mes del trimestre (ingresos - costo de lo vendido - gastos)
         for (int i = 0; i < 3; i++) {
             int month = quarterStartMonth + i;
-            LocalDate start = LocalDate.of(now.getYear(), month, 1);
-            LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
-
-            List<Sale> sales = saleRepository.findSalesBetweenDates(start, end, user.getId());
-            List<Expense> expenses = expenseRepository.findExpensesBetweenDates(start, end, user.getId());
-
             BigDecimal income = BigDecimal.ZERO;
             BigDecimal productCost = BigDecimal.ZERO;
-            BigDecimal monthlyExpenses = BigDecimal.ZERO;
+            BigDecimal expenses = BigDecimal.ZERO;
 
-            for (Sale sale : sales) {
-                income = income.add(sale.getTotalSale());
-                for (SaleDetail detail : sale.getSaleDetails()) {
-                    BigDecimal costForDetail = detail.getCostPrice().multiply(detail.getQuantity());
-                    productCost = productCost.add(costForDetail);
+            for (DailySummary summary : byDay.values()) {
+                if (summary.getSummaryDate().getMonthValue() == month && !summary.getSummaryDate().isBefore(quarterStart)) {
+                    income = income.add(summary.getIncome());
+                    productCost = productCost.add(summary.getProductCost());
+                    expenses = expenses.add(summary.getExpenseTotal());
                 }
             }
 
-            for (Expense expense : expenses) {
-                monthlyExpenses = monthlyExpenses.add(BigDecimal.valueOf(expense.getAmount()));
+            BigDecimal profit = netProfit(income, productCost, expenses);
+            recent.quarterlyProfits.add(new QuarterlyMonthProfitDTO(month, profit));
+            if (month == today.getMonthValue()) {
+                recent.currentMonthProfit = profit;
             }
-
-            BigDecimal totalCost = productCost.add(monthlyExpenses);
-            BigDecimal netProfit = income.subtract(totalCost);
-
-            monthlyProfits.add(new QuarterlyMonthProfitDTO(month, netProfit));
         }
 
-        return monthlyProfits;
+        return recent;
+    }
+
+    private BigDecimal netProfit(BigDecimal income, BigDecimal productCost, BigDecimal expenses) {
+        return income.subtract(productCost.add(expenses));
     }
 
     /**
@@ -355,4 +261,31 @@ public class DashboarService {
         return cookieService.getUserFromCookie(request)
                 .orElseThrow(() -> new ProductException("Usuario no autenticado. No se puede procesar la solicitud."));
     }
+
+    /**
+     * Indicadores de ganancias calculados a partir de los resúmenes diarios.
+     */
+    private static class ProfitKpis {
+        private BigDecimal totalNetProfit = BigDecimal.ZERO;
+        private BigDecimal totalProfitability = BigDecimal.ZERO;
+        private BigDecimal todayProfit = BigDecimal.ZERO;
+        private BigDecimal currentMonthProfit = BigDecimal.ZERO;
+        private final List<DailyProfitDTO> weeklyProfits = new ArrayList<>();
+        private final List<QuarterlyMonthProfitDTO> quarterlyProfits = new ArrayList<>();
+
+        /**
+         * Indicadores en cero, con los días de la semana y los meses del trimestre, para cuando la sección no está disponible.
+         */
+        private static ProfitKpis empty(LocalDate today) {
+            ProfitKpis kpis = new ProfitKpis();
+            for (int i = 6; i >= 0; i--) {
+                kpis.weeklyProfits.add(new DailyProfitDTO(today.minusDays(i), BigDecimal.ZERO));
+            }
+            int quarterStartMonth = ((today.getMonthValue() - 1) / 3) * 3 + 1;
+            for (int i = 0; i < 3; i++) {
+                kpis.quarterlyProfits.add(new QuarterlyMonthProfitDTO(quarterStartMonth + i, BigDecimal.ZERO));
+            }
+            return kpis;
+        }
+    }
 }
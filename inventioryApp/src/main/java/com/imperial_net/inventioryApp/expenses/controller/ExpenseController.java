@@ -3,9 +3,12 @@ package com.imperial_net.inventioryApp.expenses.controller;
 import com.imperial_net.inventioryApp.expenses.dto.ExpenseRequestDTO;
 import com.imperial_net.inventioryApp.expenses.dto.ExpenseResponseDTO;
 import com.imperial_net.inventioryApp.expenses.service.ExpenseService;
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -52,6 +55,40 @@ public class ExpenseController {
         return ResponseEntity.ok(expenseService.getAllExpensesForUser(request));
     }
 
+    /**
+     * Obtiene una página de gastos del usuario autenticado, paginada por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior; se omite para la primera página.
+     * @param size    cantidad de elementos por página (máximo 100).
+     * @param request solicitud HTTP con la sesión del usuario.
+     * @return página de gastos con el cursor de la siguiente.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<ExpenseResponseDTO>> getExpensesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(expenseService.getExpensesPageForUser(request, cursor, size));
+    }
+
+    /**
+     * Exporta las gastos del usuario autenticado en formato NDJSON (un objeto JSON por línea).
+     * La respuesta se envía a medida que se leen los registros.
+     *
+     * @param from     fecha inicial (yyyy-MM-dd, inclusive); se omite para exportar desde el inicio.
+     * @param to       fecha final (yyyy-MM-dd, inclusive); se omite para exportar hasta hoy.
+     * @param request  solicitud HTTP con la sesión del usuario.
+     * @param response respuesta HTTP donde se escribe la exportación.
+     */
+    @GetMapping("/export")
+    public void exportExpenses(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        expenseService.exportExpenses(request, from, to, response);
+    }
+
     /**
      * Actualiza un gasto existente por su ID.
      *
@@ -1,13 +1,18 @@
 package com.imperial_net.inventioryApp.expenses.repository;
 
 import com.imperial_net.inventioryApp.expenses.model.Expense;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para acceder a datos relacionados con los gastos.
@@ -24,6 +29,25 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
      */
     List<Expense> findAllByCreatedBy_Id(Long userId);
 
+    /**
+     * Primera página de gastos de un usuario, de los más recientes a los más antiguos.
+     *
+     * @param userId ID del usuario.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de gastos ordenada por ID descendente.
+     */
+    List<Expense> findByCreatedBy_IdOrderByIdDesc(Long userId, Limit limit);
+
+    /**
+     * Página siguiente de gastos de un usuario a partir del último ID entregado (paginación por cursor).
+     *
+     * @param userId ID del usuario.
+     * @param lastId último ID de la página anterior.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de gastos con ID menor a lastId, ordenada por ID descendente.
+     */
+    List<Expense> findByCreatedBy_IdAndIdLessThanOrderByIdDesc(Long userId, Long lastId, Limit limit);
+
     /**
      * Busca los gastos que se encuentran entre dos fechas (sin filtrar por usuario).
      *
@@ -56,6 +80,16 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             @Param("userId") Long userId
     );
 
+    /**
+     * Agrupa por día los gastos de un usuario (fecha y monto total).
+     * Se usa para reconstruir los resúmenes diarios.
+     *
+     * @param userId ID del usuario.
+     * @return lista de pares [fecha, total].
+     */
+    @Query("SELECT e.date, SUM(e.amount) FROM Expense e WHERE e.createdBy.id = :userId GROUP BY e.date")
+    List<Object[]> sumExpensesByDay(@Param("userId") Long userId);
+
     /**
      * Cuenta la cantidad total de gastos registrados por un usuario.
      *
@@ -63,4 +97,24 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
      * @return número total de gastos registrados por el usuario.
      */
     Long countByCreatedBy_Id(Long userId);
+
+    /**
+     * Recorre con cursor las gastos de un usuario, para exportarlas sin cargarlas todas en memoria.
+     * Las fechas son opcionales; si se omiten no se filtra por ese extremo.
+     * El stream debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @param userId ID del usuario.
+     * @param from   fecha inicial (inclusive), o null.
+     * @param to     fecha final (inclusive), o null.
+     * @return stream de gastos ordenado por ID.
+     */
+    @Query("SELECT e FROM Expense e JOIN FETCH e.createdBy " +
+            "WHERE e.createdBy.id = :userId " +
+            "AND (:from IS NULL OR e.date >= :from) AND (:to IS NULL OR e.date <= :to) " +
+            "ORDER BY e.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Expense> streamForExport(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -4,14 +4,21 @@ import com.imperial_net.inventioryApp.expenses.dto.ExpenseRequestDTO;
 import com.imperial_net.inventioryApp.expenses.dto.ExpenseResponseDTO;
 import com.imperial_net.inventioryApp.exceptions.ExpenseException;
 import com.imperial_net.inventioryApp.expenses.model.Expense;
-import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.export.NdjsonExporter;
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
+import com.imperial_net.inventioryApp.pagination.PageCursor;
+import com.imperial_net.inventioryApp.suscriptions.model.RecordType;
+import com.imperial_net.inventioryApp.suscriptions.service.PlanQuotaService;
 import com.imperial_net.inventioryApp.auth.service.CookieService;
 import com.imperial_net.inventioryApp.users.model.User;
 import com.imperial_net.inventioryApp.expenses.repository.ExpenseRepository;
+import com.imperial_net.inventioryApp.reports.service.DailySummaryService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -27,6 +34,9 @@ public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
     private final CookieService cookieService;
+    private final DailySummaryService dailySummaryService;
+    private final NdjsonExporter ndjsonExporter;
+    private final PlanQuotaService planQuotaService;
 
     /**
      * Registra un gasto en la base de datos para el usuario autenticado.
@@ -36,6 +46,7 @@ public class ExpenseService {
      * @return el gasto guardado como DTO de respuesta.
      * @throws ExpenseException si el usuario no está autenticado o excede el límite del plan FREE.
      */
+    @Transactional
     public ExpenseResponseDTO registerExpense(ExpenseRequestDTO expenseDto, HttpServletRequest request) {
         User user = cookieService.getUserFromCookie(request)
                 .orElseThrow(() -> new ExpenseException("Usuario no autenticado. No se puede registrar el gasto."));
@@ -43,8 +54,9 @@ public class ExpenseService {
         Expense expense = convertToEntity(expenseDto);
         expense.setCreatedBy(user);
 
-        if (this.validateNumberOfRecords(user)) {
+        if (planQuotaService.tryRegister(user, RecordType.EXPENSE, () -> expenseRepository.countByCreatedBy_Id(user.getId()))) {
             Expense savedExpense = expenseRepository.save(expense);
+            dailySummaryService.recordExpense(savedExpense);
             return convertToDto(savedExpense);
         } else {
             throw new ExpenseException("Ha alcanzado el límite de registros para el plan FREE. "
@@ -58,6 +70,7 @@ public class ExpenseService {
      * @param request solicitud HTTP con la cookie del usuario.
      * @return lista de gastos en formato DTO.
      */
+    @Transactional(readOnly = true)
     public List<ExpenseResponseDTO> getAllExpensesForUser(HttpServletRequest request) {
         Long userId = cookieService.getUserFromCookie(request)
                 .map(User::getId)
@@ -68,6 +81,47 @@ public class ExpenseService {
                 .toList();
     }
 
+    /**
+     * Obtiene una página de gastos del usuario autenticado, de los más recientes a los más antiguos.
+     * Usa paginación por cursor: cada página cuesta una consulta acotada sin importar su posición.
+     *
+     * @param request petición HTTP con la cookie del usuario.
+     * @param cursor  cursor devuelto por la página anterior, o null para la primera.
+     * @param size    tamaño de página (por defecto {@value PageCursor#DEFAULT_SIZE}, máximo {@value PageCursor#MAX_SIZE}).
+     * @return la página de gastos y el cursor de la siguiente.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ExpenseResponseDTO> getExpensesPageForUser(HttpServletRequest request, String cursor, Integer size) {
+        Long userId = cookieService.getUserFromCookie(request)
+                .map(User::getId)
+                .orElseThrow(() -> new ExpenseException("Usuario no autenticado"));
+
+        int pageSize = PageCursor.pageSize(size);
+        Long lastId = PageCursor.decode(cursor);
+        List<Expense> rows = lastId == null
+                ? expenseRepository.findByCreatedBy_IdOrderByIdDesc(userId, PageCursor.queryLimit(pageSize))
+                : expenseRepository.findByCreatedBy_IdAndIdLessThanOrderByIdDesc(userId, lastId, PageCursor.queryLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, Expense::getId, this::convertToDto);
+    }
+
+    /**
+     * Exporta las gastos del usuario autenticado en formato NDJSON, escribiendo directamente en la respuesta.
+     * Las filas se leen con cursor, por lo que la memoria usada no depende del período exportado.
+     *
+     * @param request  petición HTTP con la cookie del usuario.
+     * @param from     fecha inicial (inclusive), o null para no limitar.
+     * @param to       fecha final (inclusive), o null para no limitar.
+     * @param response respuesta HTTP donde se escribe la exportación.
+     */
+    @Transactional(readOnly = true)
+    public void exportExpenses(HttpServletRequest request, LocalDate from, LocalDate to, HttpServletResponse response) {
+        Long userId = cookieService.getUserFromCookie(request)
+                .map(User::getId)
+                .orElseThrow(() -> new ExpenseException("Usuario no autenticado"));
+
+        ndjsonExporter.write(response, "gastos.ndjson", expenseRepository.streamForExport(userId, from, to), this::convertToDto);
+    }
+
     /**
      * Actualiza un gasto existente.
      *
@@ -75,6 +129,7 @@ public class ExpenseService {
      * @param expenseRequest  nuevos datos del gasto.
      * @param request         solicitud HTTP para validar autenticación.
      */
+    @Transactional
     public void updateExpense(Long id, ExpenseRequestDTO expenseRequest, HttpServletRequest request) {
         Expense expense = expenseRepository.findById(id)
                 .orElseThrow(() -> new ExpenseException("Gasto no encontrado en la base de datos"));
@@ -84,8 +139,10 @@ public class ExpenseService {
         log.info("Actualizando gasto con ID: {}", id);
         log.info("Fecha recibida en DTO: {}", expenseRequest.getExpenseDate());
 
+        dailySummaryService.reverseExpense(expense); // Se quitan los valores anteriores del resumen
         updateEntity(expense, expenseRequest);
         expenseRepository.save(expense);
+        dailySummaryService.recordExpense(expense);
     }
 
     /**
@@ -94,11 +151,13 @@ public class ExpenseService {
      * @param id identificador del gasto.
      * @throws ExpenseException si el gasto no existe.
      */
+    @Transactional
     public void deleteExpense(Long id) {
-        if (!expenseRepository.existsById(id)) {
-            throw new ExpenseException("El gasto no existe en la base de datos.");
-        }
-        expenseRepository.deleteById(id);
+        Expense expense = expenseRepository.findById(id)
+                .orElseThrow(() -> new ExpenseException("El gasto no existe en la base de datos."));
+        dailySummaryService.reverseExpense(expense);
+        expenseRepository.delete(expense);
+        planQuotaService.unregister(expense.getCreatedBy(), RecordType.EXPENSE);
     }
 
     /**
@@ -192,17 +251,4 @@ public class ExpenseService {
         expense.setPaymentMethod(dto.getPaymentMethod());
         expense.setDescription(dto.getDescription());
     }
-
-    /**
-     * Valida si el usuario tiene permitido registrar más gastos según su plan de suscripción.
-     *
-     * @param user usuario autenticado.
-     * @return true si puede registrar más gastos; false si llegó al límite.
-     */
-    public boolean validateNumberOfRecords(User user) {
-        if (user.getSubscription() == Subscription.FREE) {
-            return expenseRepository.countByCreatedBy_Id(user.getId()) < 10;
-        }
-        return true;
-    }
 }
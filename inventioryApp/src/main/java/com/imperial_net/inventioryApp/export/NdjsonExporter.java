@@ -0,0 +1,78 @@
+package com.imperial_net.inventioryApp.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Escribe exportaciones en formato NDJSON (un objeto JSON por línea) directamente en la respuesta HTTP.
+ * Recorre un {@link Stream} de entidades leído con cursor, por lo que la memoria usada no depende
+ * de la cantidad de registros: cada cierto número de filas se vacía la salida y se limpia el contexto
+ * de persistencia para liberar las entidades ya escritas.
+ *
+ * Debe llamarse dentro de una transacción para que el cursor permanezca abierto.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonExporter {
+
+    /**
+     * Tipo de contenido de las exportaciones.
+     */
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    /**
+     * Cantidad de filas entre cada vaciado de la salida y limpieza del contexto de persistencia.
+     */
+    static final int FLUSH_INTERVAL = 500;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /**
+     * Escribe cada fila del stream como una línea JSON.
+     *
+     * @param response respuesta HTTP donde se escribe la exportación.
+     * @param fileName nombre sugerido para el archivo descargado.
+     * @param rows     filas a exportar; se cierra al terminar.
+     * @param mapper   conversión de cada fila a su DTO.
+     * @return cantidad de filas escritas.
+     */
+    public <E, T> long write(HttpServletResponse response, String fileName, Stream<E> rows, Function<E, T> mapper) {
+        response.setContentType(MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        long written = 0;
+        try (rows; SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(mapper.apply(iterator.next()));
+                written++;
+                if (written % FLUSH_INTERVAL == 0) {
+                    writer.flush(); // El cliente empieza a recibir datos sin esperar al final
+                    entityManager.clear(); // Libera las entidades ya exportadas
+                }
+            }
+            writer.flush();
+            if (written > 0) {
+                response.getOutputStream().write('\n'); // Cierra la última línea
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al escribir la exportación", e);
+        }
+        return written;
+    }
+}
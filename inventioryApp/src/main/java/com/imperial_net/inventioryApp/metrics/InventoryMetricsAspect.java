@@ -0,0 +1,57 @@
+package com.imperial_net.inventioryApp.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contadores de negocio del inventario, publicados en {@code /actuator/prometheus}:
+ * <ul>
+ *     <li>{@value #SALES_REGISTERED}: ventas registradas y confirmadas.</li>
+ *     <li>{@value #STOCK_REJECTIONS}: reservas de stock rechazadas por falta de stock.</li>
+ * </ul>
+ * Se cuentan desde fuera de los servicios para no sumarles dependencias.
+ */
+@Aspect
+@Component
+@Order(MetricsAspectOrder.ORDER)
+public class InventoryMetricsAspect {
+
+    /**
+     * Nombre del contador de ventas registradas.
+     */
+    public static final String SALES_REGISTERED = "inventory.sales.registered";
+
+    /**
+     * Nombre del contador de reservas de stock rechazadas.
+     */
+    public static final String STOCK_REJECTIONS = "inventory.stock.rejections";
+
+    private final Counter salesRegistered;
+    private final Counter stockRejections;
+
+    public InventoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.salesRegistered = Counter.builder(SALES_REGISTERED)
+                .description("Ventas registradas")
+                .register(meterRegistry);
+        this.stockRejections = Counter.builder(STOCK_REJECTIONS)
+                .description("Reservas de stock rechazadas por stock insuficiente")
+                .register(meterRegistry);
+    }
+
+    @AfterReturning("execution(* com.imperial_net.inventioryApp.sales.service.SaleService.createSale(..))")
+    public void countSaleRegistered() {
+        salesRegistered.increment();
+    }
+
+    @AfterReturning(pointcut = "execution(boolean com.imperial_net.inventioryApp.products.service.StockReservationService.tryReserve(..))",
+            returning = "reserved")
+    public void countStockRejection(boolean reserved) {
+        if (!reserved) {
+            stockRejections.increment();
+        }
+    }
+}
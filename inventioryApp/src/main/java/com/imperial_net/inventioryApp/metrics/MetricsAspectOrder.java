@@ -0,0 +1,16 @@
+package com.imperial_net.inventioryApp.metrics;
+
+import org.springframework.core.Ordered;
+
+/**
+ * Orden de los aspectos de métricas. Tienen mayor precedencia que el interceptor de transacciones
+ * (que usa {@link Ordered#LOWEST_PRECEDENCE}), de modo que lo envuelven: los tiempos incluyen el commit
+ * y los contadores solo cuentan operaciones confirmadas.
+ */
+final class MetricsAspectOrder {
+
+    static final int ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    private MetricsAspectOrder() {
+    }
+}
@@ -0,0 +1,72 @@
+package com.imperial_net.inventioryApp.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mide la duración de cada llamada a los repositorios y a los métodos públicos de los servicios.
+ * Los tiempos se publican como {@value #REPOSITORY_TIMER} y {@value #SERVICE_TIMER}, etiquetados con la clase,
+ * el método y la excepción lanzada (o {@code none}), y se exponen en {@code /actuator/prometheus}.
+ * Envuelve a la transacción, por lo que el tiempo de los servicios incluye el commit.
+ */
+@Aspect
+@Component
+@Order(MetricsAspectOrder.ORDER)
+@RequiredArgsConstructor
+public class TimingAspect {
+
+    /**
+     * Nombre del timer de las llamadas a repositorios.
+     */
+    public static final String REPOSITORY_TIMER = "app.repository.calls";
+
+    /**
+     * Nombre del timer de las llamadas a servicios.
+     */
+    public static final String SERVICE_TIMER = "app.service.calls";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Mide las llamadas a los repositorios de Spring Data (beans cuyo nombre termina en "Repository").
+     */
+    @Around("bean(*Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        // El proxy implementa la interfaz del repositorio; el método puede estar declarado en JpaRepository
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        String repository = interfaces.length > 0 ? interfaces[0].getSimpleName() : joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return time(REPOSITORY_TIMER, repository, joinPoint);
+    }
+
+    /**
+     * Mide las llamadas a los métodos públicos de las clases anotadas con {@code @Service}.
+     */
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    private Object time(String timerName, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(timerName)
+                    .tag("class", className)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.imperial_net.inventioryApp.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO con una página de resultados paginados por cursor.
+ *
+ * @param <T> tipo de los elementos de la página.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /**
+     * Elementos de la página, del más reciente al más antiguo.
+     */
+    private List<T> items;
+
+    /**
+     * Cursor para pedir la página siguiente, o null si no hay más resultados.
+     */
+    private String nextCursor;
+
+    /**
+     * Indica si existen más resultados después de esta página.
+     */
+    private boolean hasMore;
+}
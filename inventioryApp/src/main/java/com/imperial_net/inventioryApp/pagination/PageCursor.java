@@ -0,0 +1,99 @@
+package com.imperial_net.inventioryApp.pagination;
+
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utilidades para la paginación por cursor (keyset) de los listados.
+ * Los listados se ordenan por ID descendente y el cursor codifica el último ID entregado,
+ * de modo que cada página es una consulta {@code WHERE id < cursor ORDER BY id DESC LIMIT n}
+ * que cuesta lo mismo sin importar cuántas páginas se hayan recorrido.
+ */
+public final class PageCursor {
+
+    /**
+     * Tamaño de página cuando no se indica uno.
+     */
+    public static final int DEFAULT_SIZE = 20;
+
+    /**
+     * Tamaño máximo de página permitido.
+     */
+    public static final int MAX_SIZE = 100;
+
+    private PageCursor() {
+    }
+
+    /**
+     * Normaliza el tamaño de página pedido entre 1 y {@link #MAX_SIZE}.
+     *
+     * @param size tamaño pedido, puede ser null.
+     * @return tamaño de página a usar.
+     */
+    public static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Límite para la consulta: se pide un elemento extra para saber si hay otra página.
+     *
+     * @param pageSize tamaño de página normalizado.
+     * @return límite de filas a leer.
+     */
+    public static Limit queryLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    /**
+     * Decodifica el cursor recibido en el último ID entregado.
+     *
+     * @param cursor cursor opaco, o null para la primera página.
+     * @return el ID desde el que continuar, o null para la primera página.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+
+    /**
+     * Codifica un ID como cursor opaco.
+     *
+     * @param id último ID entregado.
+     * @return cursor para la página siguiente.
+     */
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Arma la página a partir de las filas leídas con {@link #queryLimit(int)}.
+     *
+     * @param rows     filas leídas (hasta pageSize + 1), ordenadas por ID descendente.
+     * @param pageSize tamaño de página normalizado.
+     * @param idOf     función que obtiene el ID de una fila.
+     * @param mapper   conversión de la fila a DTO.
+     * @return la página con el cursor siguiente si corresponde.
+     */
+    public static <E, T> CursorPageDTO<T> toPage(List<E> rows, int pageSize, Function<E, Long> idOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encode(idOf.apply(pageRows.get(pageRows.size() - 1))) : null;
+        return new CursorPageDTO<>(pageRows.stream().map(mapper).toList(), nextCursor, hasMore);
+    }
+}
@@ -1,6 +1,7 @@
 package com.imperial_net.inventioryApp.products.controller;
 
 import com.imperial_net.inventioryApp.exceptions.ProductException;
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
 import com.imperial_net.inventioryApp.products.dto.*;
 import com.imperial_net.inventioryApp.products.service.ProductService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -57,6 +58,22 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProductsForUser(request));
     }
 
+    /**
+     * Obtiene una página de productos del usuario autenticado, paginada por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior; se omite para la primera página.
+     * @param size    cantidad de elementos por página (máximo 100).
+     * @param request solicitud HTTP con la sesión del usuario.
+     * @return página de productos con el cursor de la siguiente.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<ProductResponseDTO>> getProductsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(productService.getProductsPageForUser(request, cursor, size));
+    }
+
     /**
      * Devuelve todos los productos activos del usuario autenticado.
      *
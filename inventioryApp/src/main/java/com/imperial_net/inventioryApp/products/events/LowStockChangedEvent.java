@@ -0,0 +1,12 @@
+package com.imperial_net.inventioryApp.products.events;
+
+/**
+ * Evento publicado cuando un producto cruza su stock mínimo: pasa a tener stock bajo o deja de tenerlo.
+ * Se publica dentro de la transacción que modificó el stock; quien necesite actuar solo sobre cambios confirmados
+ * debe escucharlo con {@code @TransactionalEventListener}.
+ *
+ * @param productId ID del producto.
+ * @param lowStock  true si el producto pasó a tener stock bajo; false si lo recuperó.
+ */
+public record LowStockChangedEvent(Long productId, boolean lowStock) {
+}
@@ -10,7 +10,9 @@ import lombok.*;
  * Cada marca tiene un nombre único.
  */
 @Entity
-@Table(name = "brands")
+@Table(name = "brands", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_brands_name", columnNames = "name")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,6 +32,6 @@ public class Brand {
      */
     @NotBlank(message = "El nombre de la marca es obligatorio.")
     @Size(max = 100, message = "El nombre de la marca no puede superar los 100 caracteres.")
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String name;
 }
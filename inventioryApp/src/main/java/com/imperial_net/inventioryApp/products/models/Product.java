@@ -4,6 +4,7 @@ import com.imperial_net.inventioryApp.users.model.User;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -11,9 +12,16 @@ import java.time.LocalDate;
 /**
  * Entidad que representa un producto en el sistema.
  * Incluye información como código, nombre, stock, precio, fechas, y relaciones con marca y usuario.
+ * Los UPDATE solo incluyen las columnas modificadas, para que editar un producto no pise el stock
+ * que ventas y compras actualizan en paralelo.
+ * El indicador de stock bajo se mantiene en la base (ver {@code LowStockTracker}) para que la consulta de productos
+ * con stock bajo de un usuario se resuelva con el índice por usuario, estado y stock bajo.
  */
 @Entity
-@Table(name = "products")
+@DynamicUpdate
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_user_state_low_stock", columnList = "user_id, state, low_stock")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -118,9 +126,17 @@ public class Product {
      */
     private Boolean state;
 
+    /**
+     * Indica si el stock actual es menor o igual al stock mínimo.
+     * Se actualiza con sentencias propias luego de cada cambio de stock o de stock mínimo; no se modifica desde la entidad.
+     * Es null en los productos creados antes de existir el indicador, hasta que {@code LowStockBackfill} lo calcula al arrancar.
+     */
+    @Column(name = "low_stock")
+    private Boolean lowStock;
+
     /**
      * Acción ejecutada automáticamente antes de insertar un producto.
-     * Establece fechas, stock inicial, precio anterior y estado.
+     * Establece fechas, stock inicial, precio anterior, estado e indicador de stock bajo.
      */
     @PrePersist
     protected void onCreate() {
@@ -128,6 +144,7 @@ public class Product {
         this.previousSalePrice = this.salePrice;
         this.stock = BigDecimal.ZERO;
         this.state = true;
+        this.lowStock = this.minStock != null && this.stock.compareTo(this.minStock) <= 0;
     }
 
     /**
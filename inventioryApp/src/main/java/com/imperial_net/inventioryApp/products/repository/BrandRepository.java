@@ -1,9 +1,16 @@
 package com.imperial_net.inventioryApp.products.repository;
 
 import com.imperial_net.inventioryApp.products.models.Brand;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,4 +27,33 @@ public interface BrandRepository extends JpaRepository<Brand, Long> {
      * @return un {@link Optional} con la marca si existe, o vacío si no se encuentra.
      */
     Optional<Brand> findByName(String name);
+
+    /**
+     * Busca en una sola consulta las marcas con alguno de los nombres indicados.
+     *
+     * @param names nombres de las marcas.
+     * @return las marcas encontradas.
+     */
+    List<Brand> findByNameIn(Collection<String> names);
+
+    /**
+     * Igual que {@link #findByNameIn}, pero con lectura bloqueante: ve las marcas confirmadas por otras transacciones
+     * después de iniciada la actual, como la que creó a la vez la misma marca.
+     *
+     * @param names nombres de las marcas.
+     * @return las marcas encontradas.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    List<Brand> findWithLockByNameIn(Collection<String> names);
+
+    /**
+     * Crea la marca si no existe otra con el mismo nombre.
+     * Se apoya en el índice único del nombre, por lo que es segura aunque varias transacciones
+     * intenten crear la misma marca a la vez.
+     *
+     * @param name nombre de la marca.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO brands (name) VALUES (:name) ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name);
 }
@@ -1,12 +1,19 @@
 package com.imperial_net.inventioryApp.products.repository;
 
+import com.imperial_net.inventioryApp.products.dto.StockLowDTO;
 import com.imperial_net.inventioryApp.products.models.Brand;
 import com.imperial_net.inventioryApp.products.models.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,9 +58,14 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * Obtiene todos los productos activos registrados por un usuario específico.
      * Este método filtra los productos activos, excluyendo aquellos con estado inactivo.
      *
+     * Carga junto con cada producto su marca y su usuario, que se usan al armar el catálogo,
+     * y corre en una transacción de solo lectura propia porque el catálogo se arma fuera de una.
+     *
      * @param userId ID del usuario.
      * @return lista de productos activos registrados por el usuario.
      */
+    @EntityGraph(attributePaths = {"brand", "registratedBy"})
+    @Transactional(readOnly = true)
     List<Product> findAllByRegistratedBy_IdAndStateTrue(Long userId);
 
     /**
@@ -75,6 +87,25 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     Long countByRegistratedBy_Id(Long userId);
 
+    /**
+     * Primera página de productos de un usuario, de los más recientes a los más antiguos.
+     *
+     * @param userId ID del usuario.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de productos ordenada por ID descendente.
+     */
+    List<Product> findByRegistratedBy_IdOrderByIdDesc(Long userId, Limit limit);
+
+    /**
+     * Página siguiente de productos de un usuario a partir del último ID entregado (paginación por cursor).
+     *
+     * @param userId ID del usuario.
+     * @param lastId último ID de la página anterior.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de productos con ID menor a lastId, ordenada por ID descendente.
+     */
+    List<Product> findByRegistratedBy_IdAndIdLessThanOrderByIdDesc(Long userId, Long lastId, Limit limit);
+
     /**
      * Busca un producto por su código.
      * Este método es útil para buscar productos utilizando su código único.
@@ -88,16 +119,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * Obtiene los productos con bajo stock registrados por un usuario.
      * Se consideran con bajo stock aquellos cuyo stock actual es menor o igual al stock mínimo.
      * Este método es útil para identificar productos cuyo inventario está por debajo de los niveles deseados.
+     * Filtra por el indicador de stock bajo, por lo que lee solo esos productos desde el índice por usuario, estado y stock bajo.
+     * Devuelve directamente la proyección, sin cargar marcas ni usuarios de cada producto.
      *
      * @param userId ID del usuario.
      * @return lista de productos con stock bajo.
      */
-    @Query("SELECT p FROM Product p " +
-            "WHERE p.stock <= p.minStock " +
-            "AND p.registratedBy.id = :userId " +
+    @Query("SELECT new com.imperial_net.inventioryApp.products.dto.StockLowDTO(p.code, p.name, p.stock, p.minStock) " +
+            "FROM Product p " +
+            "WHERE p.registratedBy.id = :userId " +
             "AND p.state = true " +
+            "AND p.lowStock = true " +
             "ORDER BY p.stock ASC")
-    List<Product> findLowStockProductsByUser(@Param("userId") Long userId);
+    List<StockLowDTO> findLowStockProductsByUser(@Param("userId") Long userId);
 
     /**
      * Busca un producto por código y por el ID del usuario que lo registró.
@@ -109,4 +143,68 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @return un {@link Optional} que contiene el producto si se encuentra, o vacío si no.
      */
     Optional<Product> findByCodeAndRegistratedBy_Id(String productCode, Long userId);
+
+    /**
+     * Obtiene varios productos por ID en una sola consulta, trayendo también su marca y usuario.
+     * Se utiliza al registrar una venta para no consultar producto por producto.
+     *
+     * @param ids IDs de los productos.
+     * @return lista de productos encontrados.
+     */
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.brand JOIN FETCH p.registratedBy WHERE p.id IN :ids")
+    List<Product> findAllWithBrandByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Descuenta stock de un producto de forma atómica, solo si alcanza la cantidad pedida.
+     * La condición y la resta se evalúan en la misma sentencia, por lo que dos ventas simultáneas
+     * no pueden dejar el stock negativo.
+     *
+     * @param productId ID del producto.
+     * @param quantity  cantidad a descontar.
+     * @return 1 si se descontó el stock, 0 si el stock era insuficiente o el producto no existe.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity WHERE p.id = :productId AND p.stock >= :quantity")
+    int decrementStockIfAvailable(@Param("productId") Long productId, @Param("quantity") BigDecimal quantity);
+
+    /**
+     * Suma stock a un producto de forma atómica.
+     *
+     * @param productId ID del producto.
+     * @param quantity  cantidad a sumar.
+     * @return cantidad de filas actualizadas.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity WHERE p.id = :productId")
+    int incrementStock(@Param("productId") Long productId, @Param("quantity") BigDecimal quantity);
+
+    /**
+     * Marca el producto con stock bajo si su stock llegó al mínimo y todavía no estaba marcado.
+     *
+     * @param productId ID del producto.
+     * @return 1 si el producto pasó a tener stock bajo, 0 en caso contrario.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStock = true WHERE p.id = :productId AND p.lowStock = false AND p.stock <= p.minStock")
+    int markLowStock(@Param("productId") Long productId);
+
+    /**
+     * Quita la marca de stock bajo si el stock del producto volvió a superar el mínimo.
+     *
+     * @param productId ID del producto.
+     * @return 1 si el producto dejó de tener stock bajo, 0 en caso contrario.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStock = false WHERE p.id = :productId AND p.lowStock = true " +
+            "AND (p.minStock IS NULL OR p.stock > p.minStock)")
+    int clearLowStock(@Param("productId") Long productId);
+
+    /**
+     * Calcula el indicador de stock bajo de los productos que todavía no lo tienen.
+     *
+     * @return cantidad de productos actualizados.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStock = CASE WHEN p.stock <= p.minStock THEN true ELSE false END WHERE p.lowStock IS NULL")
+    int initializeLowStock();
 }
@@ -0,0 +1,123 @@
+package com.imperial_net.inventioryApp.products.service;
+
+import com.imperial_net.inventioryApp.cache.TransactionCallbacks;
+import com.imperial_net.inventioryApp.exceptions.ProductException;
+import com.imperial_net.inventioryApp.products.models.Brand;
+import com.imperial_net.inventioryApp.products.repository.BrandRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resuelve nombres de marca a marcas, creándolas si no existen.
+ * Las marcas ya resueltas se guardan en memoria (las marcas no se renombran ni se eliminan), por lo que registrar
+ * o editar un producto de una marca conocida no consulta la base.
+ *
+ * Las marcas que faltan se buscan y se crean en la transacción de quien las pide, sin tomar otra conexión, con un
+ * alta que respeta el índice único del nombre: si dos peticiones crean la misma marca a la vez, la segunda espera a
+ * que la primera termine y ambas obtienen la misma. Las marcas nuevas se guardan en memoria recién cuando la
+ * transacción se confirma, para no recordar una marca cuya alta se deshizo.
+ * Como en la base, los nombres se comparan sin distinguir mayúsculas de minúsculas.
+ */
+@Service
+@RequiredArgsConstructor
+public class BrandResolver {
+
+    private final BrandRepository brandRepository;
+    private final ConcurrentHashMap<String, Brand> brandsByName = new ConcurrentHashMap<>();
+
+    /**
+     * Devuelve la marca con el nombre indicado, creándola si no existe.
+     *
+     * @param name nombre de la marca.
+     * @return la marca (no administrada por la sesión actual, lista para asignar a un producto).
+     */
+    @Transactional
+    public Brand resolve(String name) {
+        return resolveAll(List.of(validName(name))).get(name);
+    }
+
+    /**
+     * Resuelve varias marcas a la vez (por ejemplo en una carga masiva de productos): las conocidas salen de memoria
+     * y las demás se buscan con una sola consulta; solo las marcas nuevas requieren un alta cada una.
+     *
+     * @param names nombres de las marcas.
+     * @return las marcas por nombre, tal como se pidieron.
+     */
+    @Transactional
+    public Map<String, Brand> resolveAll(Collection<String> names) {
+        Map<String, Brand> resolved = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            Brand known = brandsByName.get(key(validName(name)));
+            if (known != null) {
+                resolved.put(name, copy(known));
+            } else {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        Map<String, Brand> loaded = load(missing);
+        TransactionCallbacks.afterCommit(() -> brandsByName.putAll(loaded));
+        for (String name : missing) {
+            resolved.put(name, copy(loaded.get(key(name))));
+        }
+        return resolved;
+    }
+
+    /**
+     * Busca las marcas que faltan y crea las que no existen. Devuelve las marcas por clave de nombre.
+     */
+    private Map<String, Brand> load(Set<String> names) {
+        Map<String, Brand> loaded = new HashMap<>();
+        Set<String> pending = new LinkedHashSet<>(names);
+
+        collect(brandRepository.findByNameIn(pending), pending, loaded);
+        if (!pending.isEmpty()) {
+            // Si otra transacción está creando la misma marca, el alta espera a que termine y no agrega otra
+            pending.forEach(brandRepository::insertIfAbsent);
+            collect(brandRepository.findWithLockByNameIn(pending), pending, loaded);
+        }
+        for (String name : pending) {
+            // Nombre que la colación de la base considera igual a otro (por ejemplo, con o sin acento)
+            Brand brand = brandRepository.findWithLockByNameIn(List.of(name)).stream().findFirst()
+                    .orElseThrow(() -> new ProductException("No se pudo registrar la marca '" + name + "'."));
+            loaded.put(key(name), copy(brand));
+        }
+        return loaded;
+    }
+
+    private void collect(List<Brand> brands, Set<String> pending, Map<String, Brand> loaded) {
+        for (Brand brand : brands) {
+            loaded.put(key(brand.getName()), copy(brand));
+        }
+        pending.removeIf(name -> loaded.containsKey(key(name)));
+    }
+
+    private static String validName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new ProductException("El nombre de la marca es obligatorio.");
+        }
+        return name;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static Brand copy(Brand brand) {
+        return new Brand(brand.getId(), brand.getName());
+    }
+}
@@ -0,0 +1,36 @@
+package com.imperial_net.inventioryApp.products.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calcula al arrancar el indicador de stock bajo de los productos existentes antes de agregarlo.
+ * Solo toma los productos sin indicador: se completa sola en el primer arranque, retoma lo pendiente si se
+ * interrumpe y en los siguientes no modifica nada.
+ * Se puede desactivar con {@code products.low-stock.sync-on-startup=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LowStockBackfill implements ApplicationRunner {
+
+    private final LowStockTracker lowStockTracker;
+
+    @Value("${products.low-stock.sync-on-startup:true}")
+    private boolean syncOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!syncOnStartup) {
+            return;
+        }
+        int initialized = lowStockTracker.initializeMissing();
+        if (initialized > 0) {
+            log.info("Indicador de stock bajo calculado para {} productos", initialized);
+        }
+    }
+}
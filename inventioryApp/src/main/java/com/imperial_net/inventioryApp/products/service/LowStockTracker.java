@@ -0,0 +1,71 @@
+package com.imperial_net.inventioryApp.products.service;
+
+import com.imperial_net.inventioryApp.products.events.LowStockChangedEvent;
+import com.imperial_net.inventioryApp.products.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Mantiene el indicador de stock bajo de los productos luego de cada cambio de stock o de stock mínimo.
+ * Cada actualización es una sentencia condicional sobre la fila del producto que solo modifica el indicador
+ * si el producto cruzó el mínimo, de modo que la cantidad de filas actualizadas indica la transición
+ * y se publica un {@link LowStockChangedEvent} solo en ese caso.
+ */
+@Component
+@RequiredArgsConstructor
+public class LowStockTracker {
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Actualiza el indicador luego de descontar stock (solo puede pasar a tener stock bajo).
+     *
+     * @param productId ID del producto.
+     */
+    @Transactional
+    public void stockDecreased(Long productId) {
+        if (productRepository.markLowStock(productId) == 1) {
+            eventPublisher.publishEvent(new LowStockChangedEvent(productId, true));
+        }
+    }
+
+    /**
+     * Actualiza el indicador luego de sumar stock (solo puede dejar de tener stock bajo).
+     *
+     * @param productId ID del producto.
+     */
+    @Transactional
+    public void stockIncreased(Long productId) {
+        if (productRepository.clearLowStock(productId) == 1) {
+            eventPublisher.publishEvent(new LowStockChangedEvent(productId, false));
+        }
+    }
+
+    /**
+     * Actualiza el indicador luego de fijar el stock o el stock mínimo a un valor cualquiera.
+     *
+     * @param productId ID del producto.
+     */
+    @Transactional
+    public void refresh(Long productId) {
+        if (productRepository.markLowStock(productId) == 1) {
+            eventPublisher.publishEvent(new LowStockChangedEvent(productId, true));
+        } else {
+            stockIncreased(productId);
+        }
+    }
+
+    /**
+     * Calcula el indicador de los productos creados antes de existir el indicador, sin publicar eventos.
+     * Solo actualiza las filas sin indicador, por lo que luego de la primera vez no modifica nada.
+     *
+     * @return cantidad de productos actualizados.
+     */
+    @Transactional
+    public int initializeMissing() {
+        return productRepository.initializeLowStock();
+    }
+}
@@ -0,0 +1,130 @@
+package com.imperial_net.inventioryApp.products.service;
+
+import com.imperial_net.inventioryApp.cache.BoundedCache;
+import com.imperial_net.inventioryApp.cache.TransactionCallbacks;
+import com.imperial_net.inventioryApp.products.dto.ProductResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria del catálogo de productos activos de cada negocio (usuario), que el punto de venta
+ * pide cada vez que abre la pantalla.
+ * Guarda una cantidad acotada de catálogos; al llenarse descarta el usado hace más tiempo.
+ * Cada catálogo vence a los pocos minutos como resguardo ante cambios hechos fuera de la aplicación.
+ *
+ * El catálogo de un negocio se descarta cuando cambia alguno de sus productos (datos, precio, estado o stock).
+ * Si el cambio ocurre dentro de una transacción se descarta también al terminarla, para no conservar un catálogo
+ * leído antes de que el cambio se confirme.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final BoundedCache<Long, List<ProductResponseDTO>> catalogs;
+
+    // Negocio dueño de cada producto visto en un catálogo; permite invalidar a partir del ID del producto.
+    // El dueño de un producto no cambia, por lo que se conserva hasta que el negocio sale de la caché por espacio,
+    // y los productos vistos de cada negocio permiten olvidarlos entonces sin recorrer todo el índice.
+    private final ConcurrentHashMap<Long, Long> tenantByProduct = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Long>> productsByTenant = new ConcurrentHashMap<>();
+
+    // Generaciones de invalidación: evitan guardar un catálogo leído antes de invalidarlo.
+    // La global cambia al modificar un producto de dueño desconocido; la de cada negocio, al invalidar su catálogo.
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> tenantGenerations = new ConcurrentHashMap<>();
+
+
+    public ProductCatalogCache(@Value("${products.catalog-cache.max-tenants:1000}") int maxTenants,
+                               @Value("${products.catalog-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.catalogs = new BoundedCache<>(maxTenants, ttlSeconds * 1000, (userId, products) -> forgetProducts(userId));
+    }
+
+    /**
+     * Devuelve el catálogo de productos activos del negocio si está en caché.
+     *
+     * @param userId ID del usuario dueño de los productos.
+     * @return el catálogo, o vacío si no está en caché o ya venció.
+     */
+    public Optional<List<ProductResponseDTO>> get(Long userId) {
+        return Optional.ofNullable(catalogs.get(userId));
+    }
+
+    /**
+     * Generación actual del catálogo de un negocio. Debe leerse antes de consultar el catálogo y pasarse a {@link #put}.
+     *
+     * @param userId ID del usuario dueño de los productos.
+     * @return la generación actual.
+     */
+    public long generation(Long userId) {
+        return globalGeneration.get() + tenantGenerations.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * Guarda el catálogo de un negocio.
+     * No guarda nada si hubo una invalidación desde {@code generation}.
+     *
+     * @param userId     ID del usuario dueño de los productos.
+     * @param products   catálogo de productos activos.
+     * @param generation la generación leída antes de consultar el catálogo.
+     * @return el catálogo inmodificable que se guardó (o que se habría guardado).
+     */
+    public List<ProductResponseDTO> put(Long userId, List<ProductResponseDTO> products, long generation) {
+        List<ProductResponseDTO> catalog = List.copyOf(products);
+        Set<Long> seen = productsByTenant.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+        for (ProductResponseDTO product : catalog) {
+            seen.add(product.getId());
+            tenantByProduct.put(product.getId(), userId);
+        }
+        catalogs.put(userId, catalog);
+        if (generation(userId) != generation) {
+            catalogs.remove(userId, catalog); // Se invalidó mientras se leía el catálogo
+        }
+        return catalog;
+    }
+
+    /**
+     * Descarta el catálogo de un negocio.
+     *
+     * @param userId ID del usuario dueño de los productos.
+     */
+    public void invalidateTenant(Long userId) {
+        evictTenant(userId);
+        TransactionCallbacks.afterCompletion(() -> evictTenant(userId));
+    }
+
+    /**
+     * Descarta el catálogo que contiene al producto, si está en caché.
+     *
+     * @param productId ID del producto modificado.
+     */
+    public void invalidateProduct(Long productId) {
+        evictProduct(productId);
+        TransactionCallbacks.afterCompletion(() -> evictProduct(productId));
+    }
+
+    private void evictTenant(Long userId) {
+        tenantGenerations.merge(userId, 1L, Long::sum);
+        catalogs.remove(userId);
+    }
+
+    private void evictProduct(Long productId) {
+        Long userId = tenantByProduct.get(productId);
+        if (userId != null) {
+            evictTenant(userId);
+        } else {
+            globalGeneration.incrementAndGet(); // Producto nuevo o de un negocio fuera de la caché
+        }
+    }
+
+    private void forgetProducts(Long userId) {
+        Set<Long> seen = productsByTenant.remove(userId);
+        if (seen != null) {
+            seen.forEach(productId -> tenantByProduct.remove(productId, userId));
+        }
+    }
+}
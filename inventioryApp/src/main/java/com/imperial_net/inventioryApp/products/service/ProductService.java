@@ -2,22 +2,26 @@ package com.imperial_net.inventioryApp.products.service;
 
 import com.imperial_net.inventioryApp.exceptions.ClientException;
 import com.imperial_net.inventioryApp.exceptions.ProductException;
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
+import com.imperial_net.inventioryApp.pagination.PageCursor;
 import com.imperial_net.inventioryApp.products.dto.*;
 import com.imperial_net.inventioryApp.products.models.Brand;
 import com.imperial_net.inventioryApp.products.models.Product;
-import com.imperial_net.inventioryApp.products.repository.BrandRepository;
 import com.imperial_net.inventioryApp.products.repository.ProductRepository;
 import com.imperial_net.inventioryApp.auth.service.CookieService;
-import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.reports.service.ReportResultStore;
+import com.imperial_net.inventioryApp.suscriptions.model.RecordType;
+import com.imperial_net.inventioryApp.suscriptions.service.PlanQuotaService;
 import com.imperial_net.inventioryApp.users.model.User;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -31,7 +35,11 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CookieService cookieService;
-    private final BrandRepository brandRepository;
+    private final BrandResolver brandResolver;
+    private final ProductCatalogCache productCatalogCache;
+    private final PlanQuotaService planQuotaService;
+    private final ReportResultStore reportResultStore;
+    private final LowStockTracker lowStockTracker;
 
     /**
      * Convierte un {@link Product} a {@link ProductResponseDTO}.
@@ -75,12 +83,7 @@ public class ProductService {
         }
 
         // Buscar o crear la marca
-        Brand brand = brandRepository.findByName(productRequestDTO.getBrandName())
-                .orElseGet(() -> {
-                    Brand newBrand = new Brand();
-                    newBrand.setName(productRequestDTO.getBrandName());
-                    return brandRepository.save(newBrand);
-                });
+        Brand brand = brandResolver.resolve(productRequestDTO.getBrandName());
 
         // Crear y guardar producto
         Product product = new Product();
@@ -94,8 +97,9 @@ public class ProductService {
         product.setRegistratedBy(user);
         product.setRegistrationDate(LocalDate.now());
 
-        if (this.validateNumberOfRecords(user)) {
+        if (planQuotaService.tryRegister(user, RecordType.PRODUCT, () -> productRepository.countByRegistratedBy_Id(user.getId()))) {
             product = productRepository.save(product);
+            productCatalogCache.invalidateTenant(user.getId());
             return convertToDto(product);
         } else {
             throw new ClientException("Ha alcanzado el límite de registros para el plan FREE. Si desea acceder a registros ilimitados, debe suscribirse al plan PRO");
@@ -105,6 +109,7 @@ public class ProductService {
     /**
      * Obtiene todos los productos registrados por el usuario autenticado.
      */
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> getAllProductsForUser(HttpServletRequest request) {
         Long userId = cookieService.getUserFromCookie(request)
                 .map(User::getId)
@@ -115,18 +120,50 @@ public class ProductService {
                 .toList();
     }
 
+    /**
+     * Obtiene una página de productos del usuario autenticado, de los más recientes a los más antiguos.
+     * Usa paginación por cursor: cada página cuesta una consulta acotada sin importar su posición.
+     *
+     * @param request petición HTTP con la cookie del usuario.
+     * @param cursor  cursor devuelto por la página anterior, o null para la primera.
+     * @param size    tamaño de página (por defecto {@value PageCursor#DEFAULT_SIZE}, máximo {@value PageCursor#MAX_SIZE}).
+     * @return la página de productos y el cursor de la siguiente.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductResponseDTO> getProductsPageForUser(HttpServletRequest request, String cursor, Integer size) {
+        Long userId = cookieService.getUserFromCookie(request)
+                .map(User::getId)
+                .orElseThrow(() -> new ProductException("Usuario no autenticado"));
+
+        int pageSize = PageCursor.pageSize(size);
+        Long lastId = PageCursor.decode(cursor);
+        List<Product> rows = lastId == null
+                ? productRepository.findByRegistratedBy_IdOrderByIdDesc(userId, PageCursor.queryLimit(pageSize))
+                : productRepository.findByRegistratedBy_IdAndIdLessThanOrderByIdDesc(userId, lastId, PageCursor.queryLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, Product::getId, this::convertToDto);
+    }
+
     /**
      * Actualiza los datos de un producto por su ID.
      */
+    @Transactional
     public void updateProduct(Long id, ProductRequestDTO productRequest) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductException("Producto no encontrado en la base de datos"));
 
         validateProductData(id, productRequest);
+        boolean renamed = !Objects.equals(product.getName(), productRequest.getName())
+                || !Objects.equals(product.getCode(), productRequest.getCode());
         updateEntity(product, productRequest);
         product.setUpdatedDate(LocalDate.now());
 
         productRepository.save(product);
+        lowStockTracker.refresh(id); // Puede haber cambiado el stock mínimo
+        productCatalogCache.invalidateProduct(id);
+        if (renamed) {
+            // Los productos más vendidos guardados muestran el nombre y el código del producto
+            reportResultStore.invalidateTenant(product.getRegistratedBy().getId());
+        }
     }
 
     /**
@@ -150,14 +187,7 @@ public class ProductService {
         product.setMinStock(productRequest.getMinStock());
         product.setCategory(productRequest.getCategory());
 
-        Brand brand = brandRepository.findByName(productRequest.getBrandName())
-                .orElseGet(() -> {
-                    Brand newBrand = new Brand();
-                    newBrand.setName(productRequest.getBrandName());
-                    return brandRepository.save(newBrand);
-                });
-
-        product.setBrand(brand);
+        product.setBrand(brandResolver.resolve(productRequest.getBrandName()));
     }
 
     /**
@@ -186,6 +216,7 @@ public class ProductService {
         }
 
         productRepository.saveAll(products);
+        products.forEach(product -> productCatalogCache.invalidateProduct(product.getId()));
     }
 
     /**
@@ -198,15 +229,19 @@ public class ProductService {
     /**
      * Actualiza el stock de un producto.
      */
+    @Transactional
     public void updateStock(Long id, ProductUpdateStockDTO productUpdateStockDTO) {
         Product product = productRepository.findById(id).get();
         product.setStock(productUpdateStockDTO.getStock());
         productRepository.save(product);
+        lowStockTracker.refresh(id);
+        productCatalogCache.invalidateProduct(id);
     }
 
     /**
      * Cambia el estado (activo/inactivo) de un producto.
      */
+    @Transactional
     public void updateState(Long id) {
         Product product = productRepository.findById(id).get();
         if ((product.getState())) {
@@ -215,39 +250,45 @@ public class ProductService {
             product.setState(true);
         }
         productRepository.save(product);
+        productCatalogCache.invalidateProduct(id);
     }
 
     /**
-     * Devuelve todos los productos activos del usuario autenticado.
+     * Devuelve todos los productos activos del usuario autenticado (catálogo del punto de venta).
+     * El catálogo se sirve desde {@link ProductCatalogCache}; solo se consulta la base si no está en caché,
+     * por eso el método no abre una transacción propia.
      */
     public List<ProductResponseDTO> getAllProductsActiveForUser(HttpServletRequest request) {
         Long userId = cookieService.getUserFromCookie(request)
                 .map(User::getId)
                 .orElseThrow(() -> new ProductException("Usuario no autenticado"));
 
-        return productRepository.findAllByRegistratedBy_IdAndStateTrue(userId).stream()
-                .map(this::convertToDto)
-                .toList();
+        long generation = productCatalogCache.generation(userId);
+        return productCatalogCache.get(userId).orElseGet(() -> productCatalogCache.put(userId,
+                productRepository.findAllByRegistratedBy_IdAndStateTrue(userId).stream()
+                        .map(this::convertToDto)
+                        .toList(),
+                generation));
     }
 
     /**
      * Devuelve productos con stock por debajo del mínimo.
      */
+    @Transactional(readOnly = true)
     public List<StockLowDTO> findLowStockProducts(HttpServletRequest request) {
         Long userId = cookieService.getUserFromCookie(request)
                 .map(User::getId)
                 .orElseThrow(() -> new ProductException("Usuario no autenticado"));
 
-        List<Product> productsList = productRepository.findLowStockProductsByUser(userId);
+        return findLowStockProducts(userId);
+    }
 
-        return productsList.stream()
-                .map(product -> new StockLowDTO(
-                        product.getCode(),
-                        product.getName(),
-                        product.getStock(),
-                        product.getMinStock()
-                ))
-                .collect(Collectors.toList());
+    /**
+     * Obtiene los productos con stock bajo de un usuario ya identificado.
+     */
+    @Transactional(readOnly = true)
+    public List<StockLowDTO> findLowStockProducts(Long userId) {
+        return productRepository.findLowStockProductsByUser(userId);
     }
 
     /**
@@ -262,6 +303,8 @@ public class ProductService {
      */
     public void saveProduct(Product product) {
         productRepository.save(product);
+        lowStockTracker.refresh(product.getId());
+        productCatalogCache.invalidateProduct(product.getId());
     }
 
     /**
@@ -274,14 +317,4 @@ public class ProductService {
 
         return productRepository.findByCodeAndRegistratedBy_Id(productCode, userId).get();
     }
-
-    /**
-     * Valida si el usuario puede registrar más productos según su plan.
-     */
-    public boolean validateNumberOfRecords(User user) {
-        if (user.getSubscription() == Subscription.FREE) {
-            return productRepository.countByRegistratedBy_Id(user.getId()) < 10;
-        }
-        return true;
-    }
 }
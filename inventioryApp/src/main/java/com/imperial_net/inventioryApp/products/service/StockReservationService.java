@@ -0,0 +1,54 @@
+package com.imperial_net.inventioryApp.products.service;
+
+import com.imperial_net.inventioryApp.products.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * Servicio que centraliza los movimientos de stock de productos producidos por ventas y compras.
+ * Todas las operaciones se resuelven con una única sentencia UPDATE condicional sobre la fila del producto,
+ * sin leer el stock previamente en memoria, para que ventas simultáneas del mismo producto no pisen sus cambios
+ * ni puedan vender más de lo disponible. La fila queda bloqueada solo hasta el fin de la transacción que la modifica.
+ * Cada movimiento actualiza el indicador de stock bajo del producto y descarta el catálogo en caché del negocio dueño.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final LowStockTracker lowStockTracker;
+
+    /**
+     * Intenta descontar stock del producto.
+     *
+     * @param productId ID del producto.
+     * @param quantity  cantidad a descontar.
+     * @return true si había stock suficiente y se descontó; false en caso contrario.
+     */
+    @Transactional
+    public boolean tryReserve(Long productId, BigDecimal quantity) {
+        if (productRepository.decrementStockIfAvailable(productId, quantity) != 1) {
+            return false;
+        }
+        lowStockTracker.stockDecreased(productId);
+        productCatalogCache.invalidateProduct(productId);
+        return true;
+    }
+
+    /**
+     * Devuelve stock al producto (compras registradas, ventas anuladas o eliminadas).
+     *
+     * @param productId ID del producto.
+     * @param quantity  cantidad a sumar.
+     */
+    @Transactional
+    public void release(Long productId, BigDecimal quantity) {
+        productRepository.incrementStock(productId, quantity);
+        lowStockTracker.stockIncreased(productId);
+        productCatalogCache.invalidateProduct(productId);
+    }
+}
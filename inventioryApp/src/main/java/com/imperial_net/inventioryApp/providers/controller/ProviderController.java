@@ -1,5 +1,6 @@
 package com.imperial_net.inventioryApp.providers.controller;
 
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
 import com.imperial_net.inventioryApp.providers.dto.ProviderRequestDTO;
 import com.imperial_net.inventioryApp.providers.dto.ProviderResponseDTO;
 import com.imperial_net.inventioryApp.providers.service.ProviderService;
@@ -47,6 +48,22 @@ public class ProviderController {
         return ResponseEntity.ok(providerService.getAllProvidersForUser(request));
     }
 
+    /**
+     * Obtiene una página de proveedores del usuario autenticado, paginada por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior; se omite para la primera página.
+     * @param size    cantidad de elementos por página (máximo 100).
+     * @param request solicitud HTTP con la sesión del usuario.
+     * @return página de proveedores con el cursor de la siguiente.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<ProviderResponseDTO>> getProvidersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(providerService.getProvidersPageForUser(request, cursor, size));
+    }
+
     /**
      * Obtiene todos los proveedores activos del usuario autenticado.
      *
@@ -1,6 +1,7 @@
 package com.imperial_net.inventioryApp.providers.repository;
 
 import com.imperial_net.inventioryApp.providers.model.Provider;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -21,6 +22,25 @@ public interface ProviderRepository extends JpaRepository<Provider, Long> {
      */
     List<Provider> findAllByCreatedBy_Id(Long userId);
 
+    /**
+     * Primera página de proveedores de un usuario, de los más recientes a los más antiguos.
+     *
+     * @param userId ID del usuario.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de proveedores ordenada por ID descendente.
+     */
+    List<Provider> findByCreatedBy_IdOrderByIdDesc(Long userId, Limit limit);
+
+    /**
+     * Página siguiente de proveedores de un usuario a partir del último ID entregado (paginación por cursor).
+     *
+     * @param userId ID del usuario.
+     * @param lastId último ID de la página anterior.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de proveedores con ID menor a lastId, ordenada por ID descendente.
+     */
+    List<Provider> findByCreatedBy_IdAndIdLessThanOrderByIdDesc(Long userId, Long lastId, Limit limit);
+
     /**
      * Busca un proveedor por su nombre exacto.
      *
@@ -1,5 +1,7 @@
 package com.imperial_net.inventioryApp.providers.service;
 
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
+import com.imperial_net.inventioryApp.pagination.PageCursor;
 import com.imperial_net.inventioryApp.providers.dto.ProviderRequestDTO;
 import com.imperial_net.inventioryApp.providers.dto.ProviderResponseDTO;
 import com.imperial_net.inventioryApp.exceptions.ProductException;
@@ -7,11 +9,13 @@ import com.imperial_net.inventioryApp.exceptions.ProviderException;
 import com.imperial_net.inventioryApp.providers.model.Provider;
 import com.imperial_net.inventioryApp.providers.repository.ProviderRepository;
 import com.imperial_net.inventioryApp.auth.service.CookieService;
-import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.suscriptions.model.RecordType;
+import com.imperial_net.inventioryApp.suscriptions.service.PlanQuotaService;
 import com.imperial_net.inventioryApp.users.model.User;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -26,10 +30,12 @@ public class ProviderService {
 
     private final ProviderRepository providerRepository;
     private final CookieService cookieService;
+    private final PlanQuotaService planQuotaService;
 
     /**
      * Registra un nuevo proveedor asociado al usuario autenticado.
      */
+    @Transactional
     public ProviderResponseDTO registerProvider(ProviderRequestDTO providerDto, HttpServletRequest request) {
         User user = cookieService.getUserFromCookie(request)
                 .orElseThrow(() -> new ProviderException("Usuario no autenticado. No se puede registrar el proveedor."));
@@ -41,7 +47,7 @@ public class ProviderService {
         Provider provider = convertToEntity(providerDto);
         provider.setCreatedBy(user);
 
-        if (this.validateNumberOfRecords(user)) {
+        if (planQuotaService.tryRegister(user, RecordType.PROVIDER, () -> providerRepository.countByCreatedBy_Id(user.getId()))) {
             Provider savedProvider = providerRepository.save(provider);
             return convertToDto(savedProvider);
         } else {
@@ -52,6 +58,7 @@ public class ProviderService {
     /**
      * Devuelve todos los proveedores registrados por el usuario autenticado.
      */
+    @Transactional(readOnly = true)
     public List<ProviderResponseDTO> getAllProvidersForUser(HttpServletRequest request) {
         Long userId = cookieService.getUserFromCookie(request)
                 .map(User::getId)
@@ -62,9 +69,33 @@ public class ProviderService {
                 .toList();
     }
 
+    /**
+     * Obtiene una página de proveedores del usuario autenticado, de los más recientes a los más antiguos.
+     * Usa paginación por cursor: cada página cuesta una consulta acotada sin importar su posición.
+     *
+     * @param request petición HTTP con la cookie del usuario.
+     * @param cursor  cursor devuelto por la página anterior, o null para la primera.
+     * @param size    tamaño de página (por defecto {@value PageCursor#DEFAULT_SIZE}, máximo {@value PageCursor#MAX_SIZE}).
+     * @return la página de proveedores y el cursor de la siguiente.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProviderResponseDTO> getProvidersPageForUser(HttpServletRequest request, String cursor, Integer size) {
+        Long userId = cookieService.getUserFromCookie(request)
+                .map(User::getId)
+                .orElseThrow(() -> new ProviderException("Usuario no autenticado"));
+
+        int pageSize = PageCursor.pageSize(size);
+        Long lastId = PageCursor.decode(cursor);
+        List<Provider> rows = lastId == null
+                ? providerRepository.findByCreatedBy_IdOrderByIdDesc(userId, PageCursor.queryLimit(pageSize))
+                : providerRepository.findByCreatedBy_IdAndIdLessThanOrderByIdDesc(userId, lastId, PageCursor.queryLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, Provider::getId, this::convertToDto);
+    }
+
     /**
      * Actualiza los datos de un proveedor existente.
      */
+    @Transactional
     public void updateProvider(Long id, ProviderRequestDTO providerRequest) {
         Provider provider = providerRepository.findById(id)
                 .orElseThrow(() -> new ProviderException("Proveedor no encontrado en la base de datos"));
@@ -156,6 +187,7 @@ public class ProviderService {
     /**
      * Cambia el estado (activo/inactivo) de un proveedor.
      */
+    @Transactional
     public void updateState(Long id) {
         Provider provider = providerRepository.findById(id).get();
         if (provider.getState()) {
@@ -169,6 +201,7 @@ public class ProviderService {
     /**
      * Obtiene todos los proveedores activos del usuario autenticado.
      */
+    @Transactional(readOnly = true)
     public List<ProviderResponseDTO> getAllProvidersActiveForUser(HttpServletRequest request) {
         Long userId = cookieService.getUserFromCookie(request)
                 .map(User::getId)
@@ -185,14 +218,4 @@ public class ProviderService {
     public Provider getProviderById(Long providerId) {
         return providerRepository.findById(providerId).get();
     }
-
-    /**
-     * Valida si el usuario puede seguir registrando proveedores según su plan.
-     */
-    public boolean validateNumberOfRecords(User user) {
-        if (user.getSubscription() == Subscription.FREE) {
-            return providerRepository.countByCreatedBy_Id(user.getId()) < 10;
-        }
-        return true;
-    }
 }
@@ -1,13 +1,17 @@
 package com.imperial_net.inventioryApp.purchases.controller;
 
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
 import com.imperial_net.inventioryApp.purchases.dto.PurchaseRequestDTO;
 import com.imperial_net.inventioryApp.purchases.dto.PurchaseResponseDTO;
 import com.imperial_net.inventioryApp.purchases.service.PurchaseService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -49,6 +53,40 @@ public class PurchaseController {
         return ResponseEntity.ok(purchases);
     }
 
+    /**
+     * Obtiene una página de compras del usuario autenticado, paginada por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior; se omite para la primera página.
+     * @param size    cantidad de elementos por página (máximo 100).
+     * @param request solicitud HTTP con la sesión del usuario.
+     * @return página de compras con el cursor de la siguiente.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<PurchaseResponseDTO>> getPurchasesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(purchaseService.getPurchasesPage(request, cursor, size));
+    }
+
+    /**
+     * Exporta las compras del usuario autenticado en formato NDJSON (un objeto JSON por línea).
+     * La respuesta se envía a medida que se leen los registros.
+     *
+     * @param from     fecha inicial (yyyy-MM-dd, inclusive); se omite para exportar desde el inicio.
+     * @param to       fecha final (yyyy-MM-dd, inclusive); se omite para exportar hasta hoy.
+     * @param request  solicitud HTTP con la sesión del usuario.
+     * @param response respuesta HTTP donde se escribe la exportación.
+     */
+    @GetMapping("/export")
+    public void exportPurchases(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        purchaseService.exportPurchases(request, from, to, response);
+    }
+
     /**
      * Actualiza una compra existente.
      *
@@ -6,15 +6,22 @@ import com.imperial_net.inventioryApp.users.model.User;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
  * Entidad que representa una compra de productos realizada a un proveedor.
+ * Cada compra funciona además como lote de costo para el cálculo FIFO de las ventas.
+ * El índice compuesto sobre (producto, estado, fecha, id) permite leer solo los lotes abiertos de un producto
+ * ya ordenados, sin recorrer el historial de compras agotadas.
  */
 @Entity
-@Table(name = "purchases")
+@DynamicUpdate
+@Table(name = "purchases", indexes = {
+        @Index(name = "idx_purchases_open_lots", columnList = "product_id, state, purchase_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -89,6 +96,14 @@ public class Purchase {
     @NotNull(message = "El estado de la compra no puede ser nulo")
     private Boolean state;
 
+    /**
+     * Versión para control de concurrencia optimista.
+     * Evita que dos ventas simultáneas consuman el mismo stock restante del lote sin enterarse.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     /**
      * Se ejecuta antes de guardar la entidad.
      * Inicializa el stock restante con la cantidad comprada y marca la compra como activa.
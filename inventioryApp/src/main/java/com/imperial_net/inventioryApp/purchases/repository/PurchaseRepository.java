@@ -1,12 +1,21 @@
 package com.imperial_net.inventioryApp.purchases.repository;
 
 import com.imperial_net.inventioryApp.purchases.model.Purchase;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositorio JPA para la entidad {@link Purchase}.
@@ -33,6 +42,43 @@ public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
     @Query("SELECT p FROM Purchase p WHERE p.product.id = :productId ORDER BY p.purchaseDate ASC")
     List<Purchase> findByProductIdOrderByPurchaseDateAsc(@Param("productId") Long productId);
 
+    /**
+     * Obtiene en una sola consulta los lotes abiertos (activos y con stock restante) de varios productos,
+     * ordenados por producto y fecha de compra ascendente para aplicar FIFO en memoria.
+     * Se resuelve con el índice {@code idx_purchases_open_lots}: las compras agotadas quedan con estado inactivo
+     * y no se leen, por lo que el costo depende de los lotes abiertos y no del historial del producto.
+     *
+     * @param productIds IDs de los productos.
+     * @return lista de compras con stock disponible.
+     */
+    @Query("SELECT p FROM Purchase p JOIN FETCH p.provider JOIN FETCH p.registredBy " +
+            "WHERE p.product.id IN :productIds AND p.state = true AND p.remainingStock > 0 " +
+            "ORDER BY p.product.id ASC, p.purchaseDate ASC, p.id ASC")
+    List<Purchase> findOpenLotsByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Devuelve stock a un lote y lo reactiva, en una única sentencia.
+     * Incrementa la versión para que una venta concurrente que tenga el lote cargado detecte el cambio.
+     *
+     * @param purchaseId ID de la compra (lote).
+     * @param quantity   cantidad a devolver.
+     * @return cantidad de filas actualizadas (0 si el lote ya no existe).
+     */
+    @Modifying
+    @Query("UPDATE Purchase p SET p.remainingStock = p.remainingStock + :quantity, p.state = true, p.version = p.version + 1 " +
+            "WHERE p.id = :purchaseId")
+    int restoreRemainingStock(@Param("purchaseId") Long purchaseId, @Param("quantity") BigDecimal quantity);
+
+    /**
+     * Calcula el capital invertido en stock disponible de un usuario (precio de compra por stock restante de cada lote abierto).
+     *
+     * @param userId ID del usuario.
+     * @return capital invertido (0 si no hay lotes abiertos).
+     */
+    @Query("SELECT COALESCE(SUM(p.purchasePrice * p.remainingStock), 0) FROM Purchase p " +
+            "WHERE p.registredBy.id = :userId AND p.state = true AND p.remainingStock > 0")
+    BigDecimal sumInvestedCapitalByUser(@Param("userId") Long userId);
+
     /**
      * Obtiene las compras activas de un usuario que aún tienen stock disponible.
      *
@@ -50,6 +96,35 @@ public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
      */
     List<Purchase> findAllByRegistredById(Long userId);
 
+    /**
+     * Primera página de compras de un usuario, de la más reciente a la más antigua.
+     *
+     * @param userId ID del usuario.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de compras ordenada por ID descendente.
+     */
+    List<Purchase> findByRegistredBy_IdOrderByIdDesc(Long userId, Limit limit);
+
+    /**
+     * Página siguiente de compras de un usuario a partir del último ID entregado (paginación por cursor).
+     *
+     * @param userId ID del usuario.
+     * @param lastId último ID de la página anterior.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de compras con ID menor a lastId, ordenada por ID descendente.
+     */
+    List<Purchase> findByRegistredBy_IdAndIdLessThanOrderByIdDesc(Long userId, Long lastId, Limit limit);
+
+    /**
+     * Agrupa por día el total invertido en compras de un usuario (precio de compra por cantidad).
+     * Se usa para reconstruir los resúmenes diarios.
+     *
+     * @param userId ID del usuario.
+     * @return lista de pares [fecha, total].
+     */
+    @Query("SELECT p.purchaseDate, SUM(p.purchasePrice * p.quantity) FROM Purchase p WHERE p.registredBy.id = :userId GROUP BY p.purchaseDate")
+    List<Object[]> sumPurchasesByDay(@Param("userId") Long userId);
+
     /**
      * Cuenta la cantidad de compras registradas por un usuario.
      *
@@ -57,4 +132,24 @@ public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
      * @return total de compras.
      */
     Long countByRegistredById(Long userId);
+
+    /**
+     * Recorre con cursor las compras de un usuario junto con su producto y proveedor, para exportarlas sin cargarlas todas en memoria.
+     * Las fechas son opcionales; si se omiten no se filtra por ese extremo.
+     * El stream debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @param userId ID del usuario.
+     * @param from   fecha inicial (inclusive), o null.
+     * @param to     fecha final (inclusive), o null.
+     * @return stream de compras ordenado por ID.
+     */
+    @Query("SELECT p FROM Purchase p JOIN FETCH p.product JOIN FETCH p.provider " +
+            "WHERE p.registredBy.id = :userId " +
+            "AND (:from IS NULL OR p.purchaseDate >= :from) AND (:to IS NULL OR p.purchaseDate <= :to) " +
+            "ORDER BY p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Purchase> streamForExport(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
 }
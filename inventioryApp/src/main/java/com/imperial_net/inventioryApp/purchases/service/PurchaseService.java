@@ -1,24 +1,33 @@
 package com.imperial_net.inventioryApp.purchases.service;
 
+import com.imperial_net.inventioryApp.export.NdjsonExporter;
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
+import com.imperial_net.inventioryApp.pagination.PageCursor;
 import com.imperial_net.inventioryApp.purchases.dto.PurchaseRequestDTO;
 import com.imperial_net.inventioryApp.purchases.dto.PurchaseResponseDTO;
 import com.imperial_net.inventioryApp.exceptions.ProductException;
 import com.imperial_net.inventioryApp.exceptions.ProviderException;
 import com.imperial_net.inventioryApp.products.models.Product;
 import com.imperial_net.inventioryApp.products.service.ProductService;
+import com.imperial_net.inventioryApp.products.service.StockReservationService;
 import com.imperial_net.inventioryApp.providers.model.Provider;
 import com.imperial_net.inventioryApp.providers.service.ProviderService;
 import com.imperial_net.inventioryApp.purchases.model.Purchase;
 import com.imperial_net.inventioryApp.purchases.repository.PurchaseRepository;
+import com.imperial_net.inventioryApp.reports.service.DailySummaryService;
 import com.imperial_net.inventioryApp.auth.service.CookieService;
-import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.sales.repository.SaleDetailLotAllocationRepository;
+import com.imperial_net.inventioryApp.suscriptions.model.RecordType;
+import com.imperial_net.inventioryApp.suscriptions.service.PlanQuotaService;
 import com.imperial_net.inventioryApp.users.model.User;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.transaction.Transactional;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -34,10 +43,16 @@ public class PurchaseService {
     private final ProductService productService;
     private final ProviderService providerService;
     private final CookieService cookieService;
+    private final StockReservationService stockReservationService;
+    private final SaleDetailLotAllocationRepository saleDetailLotAllocationRepository;
+    private final DailySummaryService dailySummaryService;
+    private final NdjsonExporter ndjsonExporter;
+    private final PlanQuotaService planQuotaService;
 
     /**
      * Registra una nueva compra y actualiza el stock del producto.
      */
+    @Transactional
     public PurchaseResponseDTO createPurchase(PurchaseRequestDTO purchaseRequestDTO, HttpServletRequest request) {
         User user = cookieService.getUserFromCookie(request)
                 .orElseThrow(() -> new ProductException("No se encontró una sesión válida. Inicie sesión para registrar compras."));
@@ -50,13 +65,11 @@ public class PurchaseService {
         purchase.setProvider(provider);
         purchase.setRegistredBy(user);
 
-        BigDecimal nuevoStock = (product.getStock() == null ? BigDecimal.ZERO : product.getStock())
-                .add(purchase.getQuantity());
-        product.setStock(nuevoStock);
-        productService.saveProduct(product);
+        stockReservationService.release(product.getId(), purchase.getQuantity());
 
-        if (this.validateNumberOfRecords(user)) {
+        if (planQuotaService.tryRegister(user, RecordType.PURCHASE, () -> purchaseRepository.countByRegistredById(user.getId()))) {
             purchaseRepository.save(purchase);
+            dailySummaryService.recordPurchase(purchase);
             return this.toResponseDTO(purchase);
         } else {
             throw new ProviderException("Ha alcanzado el límite de registros para el plan FREE. Si desea acceder a registros ilimitados, debe suscribirse al plan PRO");
@@ -66,6 +79,7 @@ public class PurchaseService {
     /**
      * Devuelve todas las compras registradas por el usuario autenticado.
      */
+    @Transactional(readOnly = true)
     public List<PurchaseResponseDTO> getAllPurchases(HttpServletRequest request) {
         User user = cookieService.getUserFromCookie(request)
                 .orElseThrow(() -> new ProductException("No se encontró una sesión válida. Inicie sesión para ver sus compras."));
@@ -75,26 +89,92 @@ public class PurchaseService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Obtiene una página de compras del usuario autenticado, de la más reciente a la más antigua.
+     * Usa paginación por cursor: cada página cuesta una consulta acotada sin importar su posición.
+     *
+     * @param request petición HTTP con la cookie del usuario.
+     * @param cursor  cursor devuelto por la página anterior, o null para la primera.
+     * @param size    tamaño de página (por defecto {@value PageCursor#DEFAULT_SIZE}, máximo {@value PageCursor#MAX_SIZE}).
+     * @return la página de compras y el cursor de la siguiente.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PurchaseResponseDTO> getPurchasesPage(HttpServletRequest request, String cursor, Integer size) {
+        Long userId = cookieService.getUserFromCookie(request)
+                .map(User::getId)
+                .orElseThrow(() -> new ProductException("No se encontró una sesión válida. Inicie sesión para ver sus compras."));
+
+        int pageSize = PageCursor.pageSize(size);
+        Long lastId = PageCursor.decode(cursor);
+        List<Purchase> rows = lastId == null
+                ? purchaseRepository.findByRegistredBy_IdOrderByIdDesc(userId, PageCursor.queryLimit(pageSize))
+                : purchaseRepository.findByRegistredBy_IdAndIdLessThanOrderByIdDesc(userId, lastId, PageCursor.queryLimit(pageSize));
+        return PageCursor.toPage(rows, pageSize, Purchase::getId, this::toResponseDTO);
+    }
+
+    /**
+     * Exporta las compras del usuario autenticado en formato NDJSON, escribiendo directamente en la respuesta.
+     * Las filas se leen con cursor, por lo que la memoria usada no depende del período exportado.
+     *
+     * @param request  petición HTTP con la cookie del usuario.
+     * @param from     fecha inicial (inclusive), o null para no limitar.
+     * @param to       fecha final (inclusive), o null para no limitar.
+     * @param response respuesta HTTP donde se escribe la exportación.
+     */
+    @Transactional(readOnly = true)
+    public void exportPurchases(HttpServletRequest request, LocalDate from, LocalDate to, HttpServletResponse response) {
+        Long userId = cookieService.getUserFromCookie(request)
+                .map(User::getId)
+                .orElseThrow(() -> new ProductException("No se encontró una sesión válida. Inicie sesión para ver sus compras."));
+
+        ndjsonExporter.write(response, "compras.ndjson", purchaseRepository.streamForExport(userId, from, to), this::toResponseDTO);
+    }
+
     /**
      * Actualiza los datos de una compra existente.
+     * Un cambio de cantidad se aplica como diferencia sobre el stock del producto y sobre el saldo del lote,
+     * sin pisar los movimientos simultáneos de otras ventas o compras. Si otra operación modificó el lote
+     * mientras tanto, la versión del lote no coincide y la actualización se rechaza.
      */
+    @Transactional
     public PurchaseResponseDTO updatePurchase(Long id, PurchaseRequestDTO purchaseRequestDTO, HttpServletRequest request) {
         Purchase purchase = purchaseRepository.findById(id)
                 .orElseThrow(() -> new ProductException("Compra no encontrada."));
 
+        Product product = purchase.getProduct();
+        if (purchaseRequestDTO.getProductCode() != null && !purchaseRequestDTO.getProductCode().equals(product.getCode())) {
+            throw new ProductException("No se puede cambiar el producto de una compra registrada.");
+        }
+
         Provider providerUpdate = providerService.getProviderById(purchaseRequestDTO.getProviderId());
 
+        dailySummaryService.reversePurchase(purchase); // Se quitan los valores anteriores del resumen
+
+        BigDecimal delta = purchaseRequestDTO.getQuantity().subtract(purchase.getQuantity());
+        BigDecimal remainingStock = purchase.getRemainingStock().add(delta);
+        if (remainingStock.signum() < 0) {
+            throw new ProductException("No se puede reducir la cantidad de la compra por debajo de las unidades ya vendidas.");
+        }
+        if (delta.signum() > 0) {
+            stockReservationService.release(product.getId(), delta);
+        } else if (delta.signum() < 0 && !stockReservationService.tryReserve(product.getId(), delta.negate())) {
+            throw new ProductException("No se puede reducir la cantidad de la compra porque dejaría el stock del producto en negativo.");
+        }
+        purchase.setRemainingStock(remainingStock);
+        if (remainingStock.signum() == 0) {
+            purchase.setState(false);
+        } else if (delta.signum() > 0) {
+            purchase.setState(true);
+        }
+
         purchase.setPurchasePrice(purchaseRequestDTO.getPurchasePrice());
         purchase.setQuantity(purchaseRequestDTO.getQuantity());
         purchase.setPurchaseDate(purchaseRequestDTO.getPurchaseDate());
         purchase.setNotes(purchaseRequestDTO.getNotes());
         purchase.setProvider(providerUpdate);
 
-        Product product = productService.getProductByCode(purchaseRequestDTO.getProductCode(), request);
-        product.setStock(purchaseRequestDTO.getQuantity()); // ⚠️ Esto sobrescribe el stock
-        productService.saveProduct(product);
-
         purchaseRepository.save(purchase);
+        dailySummaryService.recordPurchase(purchase);
         return toResponseDTO(purchase);
     }
 
@@ -150,31 +230,24 @@ public class PurchaseService {
         Purchase purchase = purchaseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Compra no encontrada"));
 
+        if (saleDetailLotAllocationRepository.existsByPurchaseId(id)) {
+            throw new RuntimeException("No se puede eliminar la compra seleccionada porque su stock fue utilizado en ventas registradas");
+        }
+
         try {
             Product product = purchase.getProduct();
 
-            if (product.getStock().compareTo(purchase.getQuantity()) < 0) {
+            if (!stockReservationService.tryReserve(product.getId(), purchase.getQuantity())) {
                 throw new RuntimeException("No se puede eliminar la compra porque reduciría el stock a un valor negativo");
             }
 
-            product.setStock(product.getStock().subtract(purchase.getQuantity()));
-            productService.saveProduct(product);
-
+            dailySummaryService.reversePurchase(purchase);
             purchaseRepository.deleteById(id);
+            planQuotaService.unregister(purchase.getRegistredBy(), RecordType.PURCHASE);
             return true;
 
         } catch (Exception e) {
             throw new RuntimeException("No se puede eliminar la compra seleccionada: " + e.getMessage());
         }
     }
-
-    /**
-     * Valida si el usuario aún puede registrar compras en el plan actual.
-     */
-    public boolean validateNumberOfRecords(User user) {
-        if (user.getSubscription() == Subscription.FREE) {
-            return purchaseRepository.countByRegistredById(user.getId()) < 10;
-        }
-        return true;
-    }
 }
@@ -4,9 +4,11 @@ import com.imperial_net.inventioryApp.reports.dto.DailyIncomeResponse;
 import com.imperial_net.inventioryApp.reports.dto.ProfitabilityDTO;
 import com.imperial_net.inventioryApp.reports.dto.TopCustomerResponse;
 import com.imperial_net.inventioryApp.reports.dto.TopSellingProductResponse;
+import com.imperial_net.inventioryApp.reports.service.ReportResultStore;
 import com.imperial_net.inventioryApp.reports.service.ReportService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,6 +19,8 @@ import java.util.List;
 /**
  * Controlador para generar reportes financieros y estadísticos.
  * Proporciona endpoints para ingresos diarios, mensuales, anuales, clientes destacados, productos más vendidos y rentabilidad.
+ * Los reportes mensuales y anuales responden con ETag: si el cliente envía {@code If-None-Match} con el ETag vigente,
+ * recibe 304 sin cuerpo.
  */
 @RestController
 @RequestMapping("/reports")
@@ -49,7 +53,7 @@ public class ReportsController {
     @GetMapping("/monthly-income")
     public ResponseEntity<DailyIncomeResponse> getMonthlyIncome(@RequestParam String month, HttpServletRequest request) {
         YearMonth selectedMonth = YearMonth.parse(month);
-        return ResponseEntity.ok(reportService.getMonthlyIncome(selectedMonth, request));
+        return withETag(reportService.getMonthlyIncomeReport(selectedMonth, request));
     }
 
     /**
@@ -61,7 +65,7 @@ public class ReportsController {
      */
     @GetMapping("/annual-income")
     public ResponseEntity<DailyIncomeResponse> getAnnualIncome(@RequestParam Integer year, HttpServletRequest request) {
-        return ResponseEntity.ok(reportService.getAnnualIncome(year, request));
+        return withETag(reportService.getAnnualIncomeReport(year, request));
     }
 
     /**
@@ -87,7 +91,7 @@ public class ReportsController {
     @GetMapping("/top-selling-products")
     public ResponseEntity<List<TopSellingProductResponse>> getTopSellingProducts(@RequestParam String month, HttpServletRequest request) {
         YearMonth selectedMonth = YearMonth.parse(month);
-        return ResponseEntity.ok(reportService.getTopSellingProducts(selectedMonth, request));
+        return withETag(reportService.getTopSellingProductsReport(selectedMonth, request));
     }
 
     /**
@@ -99,6 +103,30 @@ public class ReportsController {
      */
     @GetMapping("/profitability")
     public ResponseEntity<ProfitabilityDTO> getProfitability(@RequestParam Integer year, HttpServletRequest request) {
-        return ResponseEntity.ok(reportService.getProfitabilityByYear(year, request));
+        return withETag(reportService.getProfitabilityReport(year, request));
+    }
+
+    /**
+     * Reconstruye los resúmenes diarios del usuario autenticado a partir de sus ventas, gastos y compras.
+     * Útil si los reportes quedaron desalineados con los registros de origen.
+     *
+     * @param request Solicitud HTTP.
+     * @return respuesta sin contenido.
+     */
+    @PostMapping("/daily-summaries/rebuild")
+    public ResponseEntity<Void> rebuildDailySummaries(HttpServletRequest request) {
+        reportService.rebuildDailySummaries(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Arma la respuesta de un reporte con su ETag. Spring responde 304 sin cuerpo si coincide con {@code If-None-Match}.
+     * El navegador puede guardar la respuesta, pero debe revalidarla en cada consulta.
+     */
+    private static <T> ResponseEntity<T> withETag(ReportResultStore.Result<T> report) {
+        return ResponseEntity.ok()
+                .eTag(report.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(report.body());
     }
 }
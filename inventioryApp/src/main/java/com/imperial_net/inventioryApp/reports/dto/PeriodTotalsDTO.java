@@ -0,0 +1,39 @@
+package com.imperial_net.inventioryApp.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO con la suma de los resúmenes diarios de un período.
+ */
+@Data
+@AllArgsConstructor
+public class PeriodTotalsDTO {
+
+    /**
+     * Total vendido en el período.
+     */
+    private BigDecimal income;
+
+    /**
+     * Costo de los productos vendidos en el período.
+     */
+    private BigDecimal productCost;
+
+    /**
+     * Total de gastos del período.
+     */
+    private BigDecimal expenseTotal;
+
+    /**
+     * Total invertido en compras durante el período.
+     */
+    private BigDecimal purchaseTotal;
+
+    /**
+     * Cantidad de ventas confirmadas del período.
+     */
+    private Long saleCount;
+}
@@ -0,0 +1,73 @@
+package com.imperial_net.inventioryApp.reports.model;
+
+import com.imperial_net.inventioryApp.users.model.User;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entidad que acumula, por usuario y por día, los totales usados en los reportes:
+ * ingresos y costo de las ventas confirmadas, gastos y compras registradas.
+ * Se actualiza de forma incremental con cada alta, baja o modificación, y puede reconstruirse
+ * desde las tablas de origen con {@code DailySummaryService#rebuild}.
+ */
+@Entity
+@Table(name = "daily_summaries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_summaries_user_date", columnNames = {"user_id", "summary_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Usuario al que pertenecen los totales.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * Día resumido.
+     */
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    /**
+     * Total vendido en ventas confirmadas (con descuentos y recargos aplicados).
+     */
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal income = BigDecimal.ZERO;
+
+    /**
+     * Costo de los productos vendidos en ventas confirmadas.
+     */
+    @Column(name = "product_cost", nullable = false, precision = 15, scale = 2)
+    private BigDecimal productCost = BigDecimal.ZERO;
+
+    /**
+     * Total de gastos registrados.
+     */
+    @Column(name = "expense_total", nullable = false, precision = 15, scale = 2)
+    private BigDecimal expenseTotal = BigDecimal.ZERO;
+
+    /**
+     * Total invertido en compras registradas (precio de compra por cantidad).
+     */
+    @Column(name = "purchase_total", nullable = false, precision = 15, scale = 2)
+    private BigDecimal purchaseTotal = BigDecimal.ZERO;
+
+    /**
+     * Cantidad de ventas confirmadas.
+     */
+    @Column(name = "sale_count", nullable = false)
+    private long saleCount;
+}
@@ -0,0 +1,40 @@
+package com.imperial_net.inventioryApp.reports.model;
+
+import java.time.LocalDate;
+
+/**
+ * Reportes que se guardan ya calculados para los períodos cerrados, con el período que cubre cada uno.
+ */
+public enum ReportType {
+    MONTHLY_INCOME(false),
+    TOP_SELLING_PRODUCTS(false),
+    ANNUAL_INCOME(true),
+    PROFITABILITY(true);
+
+    private final boolean yearly;
+
+    ReportType(boolean yearly) {
+        this.yearly = yearly;
+    }
+
+    /**
+     * Primer día del período del reporte que contiene a la fecha.
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return yearly ? date.withDayOfYear(1) : date.withDayOfMonth(1);
+    }
+
+    /**
+     * Último día del período que empieza en {@code periodStart}.
+     */
+    public LocalDate periodEnd(LocalDate periodStart) {
+        return yearly ? periodStart.plusYears(1).minusDays(1) : periodStart.plusMonths(1).minusDays(1);
+    }
+
+    /**
+     * Indica si el período que empieza en {@code periodStart} ya terminó.
+     */
+    public boolean isClosed(LocalDate periodStart) {
+        return periodEnd(periodStart).isBefore(LocalDate.now());
+    }
+}
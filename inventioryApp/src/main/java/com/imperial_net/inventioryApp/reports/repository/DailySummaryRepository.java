@@ -0,0 +1,94 @@
+package com.imperial_net.inventioryApp.reports.repository;
+
+import com.imperial_net.inventioryApp.reports.dto.PeriodTotalsDTO;
+import com.imperial_net.inventioryApp.reports.model.DailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositorio JPA para la entidad {@link DailySummary}.
+ * Los reportes leen como máximo una fila por día del período consultado.
+ */
+@Repository
+public interface DailySummaryRepository extends JpaRepository<DailySummary, Long> {
+
+    /**
+     * Suma (o resta, con valores negativos) importes al resumen de un día, creándolo si no existe.
+     * Se resuelve en una única sentencia atómica, por lo que escrituras simultáneas del mismo día no se pisan.
+     *
+     * @param userId        ID del usuario.
+     * @param date          día a actualizar.
+     * @param income        variación del total vendido.
+     * @param productCost   variación del costo de lo vendido.
+     * @param expenseTotal  variación del total de gastos.
+     * @param purchaseTotal variación del total de compras.
+     * @param saleCount     variación de la cantidad de ventas.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_summaries (user_id, summary_date, income, product_cost, expense_total, purchase_total, sale_count) " +
+            "VALUES (:userId, :date, :income, :productCost, :expenseTotal, :purchaseTotal, :saleCount) " +
+            "ON DUPLICATE KEY UPDATE income = income + VALUES(income), product_cost = product_cost + VALUES(product_cost), " +
+            "expense_total = expense_total + VALUES(expense_total), purchase_total = purchase_total + VALUES(purchase_total), " +
+            "sale_count = sale_count + VALUES(sale_count)", nativeQuery = true)
+    void addToDay(@Param("userId") Long userId,
+                  @Param("date") LocalDate date,
+                  @Param("income") BigDecimal income,
+                  @Param("productCost") BigDecimal productCost,
+                  @Param("expenseTotal") BigDecimal expenseTotal,
+                  @Param("purchaseTotal") BigDecimal purchaseTotal,
+                  @Param("saleCount") long saleCount);
+
+    /**
+     * Suma los resúmenes diarios de un usuario en un rango de fechas.
+     *
+     * @param userId    ID del usuario.
+     * @param startDate fecha de inicio (inclusive).
+     * @param endDate   fecha de fin (inclusive).
+     * @return totales del período (en cero si no hay movimientos).
+     */
+    @Query("SELECT new com.imperial_net.inventioryApp.reports.dto.PeriodTotalsDTO(" +
+            "COALESCE(SUM(d.income), 0), COALESCE(SUM(d.productCost), 0), COALESCE(SUM(d.expenseTotal), 0), " +
+            "COALESCE(SUM(d.purchaseTotal), 0), COALESCE(SUM(d.saleCount), 0)) " +
+            "FROM DailySummary d WHERE d.user.id = :userId AND d.summaryDate BETWEEN :startDate AND :endDate")
+    PeriodTotalsDTO sumBetween(@Param("userId") Long userId,
+                               @Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate);
+
+    /**
+     * Suma todos los resúmenes diarios de un usuario (totales históricos).
+     *
+     * @param userId ID del usuario.
+     * @return totales históricos (en cero si no hay movimientos).
+     */
+    @Query("SELECT new com.imperial_net.inventioryApp.reports.dto.PeriodTotalsDTO(" +
+            "COALESCE(SUM(d.income), 0), COALESCE(SUM(d.productCost), 0), COALESCE(SUM(d.expenseTotal), 0), " +
+            "COALESCE(SUM(d.purchaseTotal), 0), COALESCE(SUM(d.saleCount), 0)) " +
+            "FROM DailySummary d WHERE d.user.id = :userId")
+    PeriodTotalsDTO sumAll(@Param("userId") Long userId);
+
+    /**
+     * Obtiene los resúmenes diarios de un usuario en un rango de fechas, ordenados por día.
+     *
+     * @param userId    ID del usuario.
+     * @param startDate fecha de inicio (inclusive).
+     * @param endDate   fecha de fin (inclusive).
+     * @return lista con un resumen por día con movimientos.
+     */
+    List<DailySummary> findByUserIdAndSummaryDateBetweenOrderBySummaryDateAsc(Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Elimina todos los resúmenes de un usuario (previo a reconstruirlos).
+     *
+     * @param userId ID del usuario.
+     */
+    @Modifying
+    @Query("DELETE FROM DailySummary d WHERE d.user.id = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,37 @@
+package com.imperial_net.inventioryApp.reports.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carga inicial de los resúmenes diarios al arrancar la aplicación.
+ * Genera los resúmenes de los usuarios que todavía no los tienen (los existentes antes de los resúmenes) desde sus
+ * ventas, gastos y compras. Cada usuario queda marcado al terminar, por lo que si el arranque se interrumpe,
+ * el siguiente continúa con los que faltan, y una vez completa no vuelve a procesar a nadie.
+ * Se puede desactivar con {@code reports.daily-summaries.backfill-on-startup=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailySummaryBackfill implements ApplicationRunner {
+
+    private final DailySummaryService dailySummaryService;
+
+    @Value("${reports.daily-summaries.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!backfillOnStartup) {
+            return;
+        }
+        int rebuilt = dailySummaryService.rebuildPending();
+        if (rebuilt > 0) {
+            log.info("Resúmenes diarios generados para {} usuarios", rebuilt);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.imperial_net.inventioryApp.reports.service;
+
+import com.imperial_net.inventioryApp.expenses.model.Expense;
+import com.imperial_net.inventioryApp.expenses.repository.ExpenseRepository;
+import com.imperial_net.inventioryApp.purchases.model.Purchase;
+import com.imperial_net.inventioryApp.purchases.repository.PurchaseRepository;
+import com.imperial_net.inventioryApp.reports.repository.DailySummaryRepository;
+import com.imperial_net.inventioryApp.sales.model.Sale;
+import com.imperial_net.inventioryApp.sales.model.SaleStatus;
+import com.imperial_net.inventioryApp.sales.repository.SaleRepository;
+import com.imperial_net.inventioryApp.users.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Servicio que mantiene los resúmenes diarios usados por los reportes.
+ * Las ventas, gastos y compras informan cada alta y baja dentro de su propia transacción, de modo que el resumen
+ * y el registro de origen se confirman juntos. Una modificación se informa como baja de los valores anteriores
+ * seguida del alta de los nuevos.
+ * Cada cambio descarta los reportes guardados del período afectado (ver {@link ReportResultStore}).
+ */
+@Service
+@RequiredArgsConstructor
+public class DailySummaryService {
+
+    private final DailySummaryRepository dailySummaryRepository;
+    private final SaleRepository saleRepository;
+    private final ExpenseRepository expenseRepository;
+    private final PurchaseRepository purchaseRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportResultStore reportResultStore;
+
+    /**
+     * Suma una venta confirmada al resumen de su día. Las ventas en otro estado se ignoran.
+     */
+    @Transactional
+    public void recordSale(Sale sale) {
+        applySale(sale, BigDecimal.ONE);
+    }
+
+    /**
+     * Descuenta una venta confirmada del resumen de su día (anulación o eliminación).
+     */
+    @Transactional
+    public void reverseSale(Sale sale) {
+        applySale(sale, BigDecimal.ONE.negate());
+    }
+
+    /**
+     * Suma un gasto al resumen de su día.
+     */
+    @Transactional
+    public void recordExpense(Expense expense) {
+        applyExpense(expense, BigDecimal.ONE);
+    }
+
+    /**
+     * Descuenta un gasto del resumen de su día.
+     */
+    @Transactional
+    public void reverseExpense(Expense expense) {
+        applyExpense(expense, BigDecimal.ONE.negate());
+    }
+
+    /**
+     * Suma una compra al resumen de su día.
+     */
+    @Transactional
+    public void recordPurchase(Purchase purchase) {
+        applyPurchase(purchase, BigDecimal.ONE);
+    }
+
+    /**
+     * Descuenta una compra del resumen de su día.
+     */
+    @Transactional
+    public void reversePurchase(Purchase purchase) {
+        applyPurchase(purchase, BigDecimal.ONE.negate());
+    }
+
+    /**
+     * Reconstruye desde cero los resúmenes diarios de un usuario a partir de sus ventas, gastos y compras,
+     * y los marca como generados.
+     *
+     * @param userId ID del usuario.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        dailySummaryRepository.deleteByUserId(userId);
+        reportResultStore.invalidateTenant(userId);
+        userRepository.markDailySummariesReady(userId);
+
+        for (Object[] row : saleRepository.sumConfirmedSalesByDay(userId)) {
+            dailySummaryRepository.addToDay(userId, (LocalDate) row[0], (BigDecimal) row[1], (BigDecimal) row[2],
+                    BigDecimal.ZERO, BigDecimal.ZERO, ((Number) row[3]).longValue());
+        }
+        for (Object[] row : expenseRepository.sumExpensesByDay(userId)) {
+            dailySummaryRepository.addToDay(userId, (LocalDate) row[0], BigDecimal.ZERO, BigDecimal.ZERO,
+                    BigDecimal.valueOf(((Number) row[1]).doubleValue()), BigDecimal.ZERO, 0);
+        }
+        for (Object[] row : purchaseRepository.sumPurchasesByDay(userId)) {
+            dailySummaryRepository.addToDay(userId, (LocalDate) row[0], BigDecimal.ZERO, BigDecimal.ZERO,
+                    BigDecimal.ZERO, (BigDecimal) row[1], 0);
+        }
+    }
+
+    /**
+     * Genera los resúmenes diarios de los usuarios que todavía no los tienen, cada uno en su propia transacción
+     * junto con su marca: si se interrumpe, la próxima vez continúa con los usuarios que faltan.
+     *
+     * @return cantidad de usuarios procesados.
+     */
+    public int rebuildPending() {
+        List<Long> pending = userRepository.findIdsWithoutDailySummaries();
+        for (Long userId : pending) {
+            transactionTemplate.executeWithoutResult(status -> rebuild(userId));
+        }
+        return pending.size();
+    }
+
+    private void applySale(Sale sale, BigDecimal sign) {
+        if (sale.getStatus() != SaleStatus.CONFIRMED) {
+            return;
+        }
+        dailySummaryRepository.addToDay(sale.getUser().getId(), sale.getSaleDate(),
+                sale.getTotalSale().multiply(sign), sale.getTotalCost().multiply(sign),
+                BigDecimal.ZERO, BigDecimal.ZERO, sign.longValue());
+        reportResultStore.invalidate(sale.getUser().getId(), sale.getSaleDate());
+    }
+
+    private void applyExpense(Expense expense, BigDecimal sign) {
+        dailySummaryRepository.addToDay(expense.getCreatedBy().getId(), expense.getDate(),
+                BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.valueOf(expense.getAmount()).multiply(sign), BigDecimal.ZERO, 0);
+        reportResultStore.invalidate(expense.getCreatedBy().getId(), expense.getDate());
+    }
+
+    private void applyPurchase(Purchase purchase, BigDecimal sign) {
+        dailySummaryRepository.addToDay(purchase.getRegistredBy().getId(), purchase.getPurchaseDate(),
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                purchase.getPurchasePrice().multiply(purchase.getQuantity()).multiply(sign), 0);
+        reportResultStore.invalidate(purchase.getRegistredBy().getId(), purchase.getPurchaseDate());
+    }
+}
@@ -0,0 +1,145 @@
+package com.imperial_net.inventioryApp.reports.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imperial_net.inventioryApp.cache.BoundedCache;
+import com.imperial_net.inventioryApp.cache.TransactionCallbacks;
+import com.imperial_net.inventioryApp.reports.model.ReportType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Guarda en memoria los reportes ya calculados de los períodos cerrados (meses o años terminados), por negocio
+ * (usuario), tipo de reporte y período. Un período cerrado casi no cambia, por lo que repetir la consulta
+ * devuelve el resultado guardado sin leer la base.
+ *
+ * Cada resultado lleva un ETag fuerte calculado sobre su JSON: el mismo contenido produce siempre el mismo ETag,
+ * también entre reinicios o instancias, y el cliente que ya lo tiene recibe 304 sin volver a descargarlo.
+ * Los períodos abiertos se calculan en cada consulta, pero también llevan su ETag.
+ *
+ * Un resultado se descarta cuando se registra un movimiento (venta, gasto o compra) en su período o se reconstruyen
+ * los resúmenes del negocio. Si el cambio ocurre dentro de una transacción se descarta también al terminarla,
+ * para no conservar un resultado leído antes de que el cambio se confirme. Se guarda una cantidad acotada de
+ * resultados; al llenarse se descarta el usado hace más tiempo, y cada uno vence como resguardo ante cambios
+ * hechos fuera de la aplicación.
+ */
+@Component
+public class ReportResultStore {
+
+    private final BoundedCache<Key, Result<?>> results;
+
+    // Generación de invalidación de cada negocio: evita guardar un resultado leído antes de invalidarlo
+    private final ConcurrentHashMap<Long, Long> tenantGenerations = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper;
+
+    public ReportResultStore(ObjectMapper objectMapper,
+                             @Value("${reports.result-store.max-entries:5000}") int maxEntries,
+                             @Value("${reports.result-store.ttl-seconds:3600}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.results = new BoundedCache<>(maxEntries, ttlSeconds * 1000);
+    }
+
+    /**
+     * Devuelve el reporte guardado del período o lo calcula. Solo se guardan los períodos cerrados.
+     *
+     * @param userId      ID del usuario dueño de los datos.
+     * @param type        tipo de reporte.
+     * @param periodStart primer día del período.
+     * @param calculation cálculo del reporte, usado si no está guardado.
+     * @return el reporte y su ETag.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> getOrCompute(Long userId, ReportType type, LocalDate periodStart, Supplier<T> calculation) {
+        if (!type.isClosed(periodStart)) {
+            return result(calculation.get()); // Período abierto
+        }
+
+        Key key = new Key(userId, type, periodStart);
+        Result<T> cached = (Result<T>) results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = generation(userId);
+        Result<T> result = result(calculation.get());
+        put(key, result, generation);
+        return result;
+    }
+
+    /**
+     * Descarta los reportes del negocio cuyo período contiene a la fecha.
+     *
+     * @param userId ID del usuario dueño de los datos.
+     * @param date   fecha del movimiento registrado.
+     */
+    public void invalidate(Long userId, LocalDate date) {
+        evictPeriods(userId, date);
+        TransactionCallbacks.afterCompletion(() -> evictPeriods(userId, date));
+    }
+
+    /**
+     * Descarta todos los reportes guardados del negocio.
+     *
+     * @param userId ID del usuario dueño de los datos.
+     */
+    public void invalidateTenant(Long userId) {
+        evictTenant(userId);
+        TransactionCallbacks.afterCompletion(() -> evictTenant(userId));
+    }
+
+    private <T> Result<T> result(T body) {
+        return new Result<>(body, etag(body));
+    }
+
+    private String etag(Object body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(body));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular el ETag del reporte", e);
+        }
+    }
+
+    private long generation(Long userId) {
+        return tenantGenerations.getOrDefault(userId, 0L);
+    }
+
+    private void put(Key key, Result<?> result, long generation) {
+        results.put(key, result);
+        if (generation(key.userId()) != generation) {
+            results.remove(key, result); // Se invalidó mientras se calculaba el reporte
+        }
+    }
+
+    private void evictPeriods(Long userId, LocalDate date) {
+        tenantGenerations.merge(userId, 1L, Long::sum);
+        for (ReportType type : ReportType.values()) {
+            results.remove(new Key(userId, type, type.periodStart(date)));
+        }
+    }
+
+    private void evictTenant(Long userId) {
+        tenantGenerations.merge(userId, 1L, Long::sum);
+        results.removeIf(key -> key.userId().equals(userId));
+    }
+
+    /**
+     * Reporte calculado junto con su ETag.
+     *
+     * @param body reporte.
+     * @param etag ETag fuerte del reporte (sin comillas).
+     */
+    public record Result<T>(T body, String etag) {
+    }
+
+    private record Key(Long userId, ReportType type, LocalDate periodStart) {
+    }
+}
@@ -1,11 +1,10 @@
 package com.imperial_net.inventioryApp.reports.service;
 
 import com.imperial_net.inventioryApp.exceptions.ProductException;
-import com.imperial_net.inventioryApp.expenses.model.Expense;
-import com.imperial_net.inventioryApp.expenses.repository.ExpenseRepository;
 import com.imperial_net.inventioryApp.reports.dto.*;
-import com.imperial_net.inventioryApp.sales.model.Sale;
-import com.imperial_net.inventioryApp.sales.model.SaleDetail;
+import com.imperial_net.inventioryApp.reports.model.DailySummary;
+import com.imperial_net.inventioryApp.reports.model.ReportType;
+import com.imperial_net.inventioryApp.reports.repository.DailySummaryRepository;
 import com.imperial_net.inventioryApp.sales.repository.SaleDetailRepository;
 import com.imperial_net.inventioryApp.sales.repository.SaleRepository;
 import com.imperial_net.inventioryApp.auth.service.CookieService;
@@ -13,26 +12,42 @@ import com.imperial_net.inventioryApp.users.model.User;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Servicio encargado de generar los reportes del sistema.
  * Proporciona métodos para calcular ingresos, ganancias, rentabilidad, etc.
+ * Los reportes se calculan en transacciones de solo lectura: Hibernate usa flush manual y carga las entidades
+ * como de solo lectura, sin guardar copias de su estado para detectar cambios. Solo la reconstrucción de resúmenes escribe.
+ * Los reportes mensuales y anuales de períodos cerrados se reutilizan desde {@link ReportResultStore}: se buscan antes
+ * de abrir una transacción, por lo que un reporte ya guardado (o un 304) no toma ninguna conexión. Solo al calcularlo
+ * se abre la transacción; la de un período cerrado, que queda guardado, usa la base principal y no la de lectura,
+ * para no guardar un resultado con el retraso de la réplica.
  */
 @RequiredArgsConstructor
 @Service
+@Transactional(readOnly = true)
 public class ReportService {
 
     private final SaleRepository saleRepository;
     private final SaleDetailRepository saleDetailRepository;
-    private final ExpenseRepository expenseRepository;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final DailySummaryService dailySummaryService;
     private final CookieService cookieService;
+    private final ReportResultStore reportResultStore;
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * Calcula los ingresos y ganancias de un día específico.
@@ -45,38 +60,59 @@ public class ReportService {
     /**
      * Calcula los ingresos y ganancias de un mes específico.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DailyIncomeResponse getMonthlyIncome(YearMonth month, HttpServletRequest request) {
+        return getMonthlyIncomeReport(month, request).body();
+    }
+
+    /**
+     * Calcula los ingresos y ganancias de un mes específico, junto con su ETag.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReportResultStore.Result<DailyIncomeResponse> getMonthlyIncomeReport(YearMonth month, HttpServletRequest request) {
         User user = getUserFromCookie(request);
-        return calculateIncome(month.atDay(1), month.atEndOfMonth(), user.getId());
+        return report(user.getId(), ReportType.MONTHLY_INCOME, month.atDay(1),
+                () -> calculateIncome(month.atDay(1), month.atEndOfMonth(), user.getId()));
     }
 
     /**
      * Calcula los ingresos y ganancias de un año específico.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DailyIncomeResponse getAnnualIncome(int year, HttpServletRequest request) {
-        User user = getUserFromCookie(request);
-        return calculateIncome(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), user.getId());
+        return getAnnualIncomeReport(year, request).body();
     }
 
     /**
-     * Calcula ingresos, costos y ganancias en un rango de fechas.
+     * Calcula los ingresos y ganancias de un año específico, junto con su ETag.
      */
-    private DailyIncomeResponse calculateIncome(LocalDate startDate, LocalDate endDate, Long userId) {
-        List<Sale> sales = saleRepository.findSalesBetweenDates(startDate, endDate, userId);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReportResultStore.Result<DailyIncomeResponse> getAnnualIncomeReport(int year, HttpServletRequest request) {
+        User user = getUserFromCookie(request);
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        return report(user.getId(), ReportType.ANNUAL_INCOME, startDate,
+                () -> calculateIncome(startDate, LocalDate.of(year, 12, 31), user.getId()));
+    }
 
-        BigDecimal grossIncome = BigDecimal.ZERO;
-        BigDecimal totalCost = BigDecimal.ZERO;
+    /**
+     * Devuelve el reporte guardado del período o lo calcula en una transacción propia.
+     * Los períodos abiertos se calculan en una transacción de solo lectura (base de lectura si está configurada);
+     * los cerrados, que se guardan, en la base principal.
+     */
+    private <T> ReportResultStore.Result<T> report(Long userId, ReportType type, LocalDate periodStart, Supplier<T> calculation) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(!type.isClosed(periodStart));
+        return reportResultStore.getOrCompute(userId, type, periodStart, () -> transaction.execute(status -> calculation.get()));
+    }
 
-        for (Sale sale : sales) {
-            grossIncome = grossIncome.add(sale.getTotalSale());
-            for (SaleDetail detail : sale.getSaleDetails()) {
-                BigDecimal costForDetail = detail.getCostPrice().multiply(detail.getQuantity());
-                totalCost = totalCost.add(costForDetail);
-            }
-        }
+    /**
+     * Calcula ingresos, costos y ganancias en un rango de fechas a partir de los resúmenes diarios.
+     */
+    private DailyIncomeResponse calculateIncome(LocalDate startDate, LocalDate endDate, Long userId) {
+        PeriodTotalsDTO totals = dailySummaryRepository.sumBetween(userId, startDate, endDate);
 
-        BigDecimal grossProfit = grossIncome.subtract(totalCost);
-        return new DailyIncomeResponse(grossIncome, totalCost, grossProfit);
+        BigDecimal grossProfit = totals.getIncome().subtract(totals.getProductCost());
+        return new DailyIncomeResponse(totals.getIncome(), totals.getProductCost(), grossProfit);
     }
 
     /**
@@ -84,10 +120,17 @@ public class ReportService {
      */
     public List<TopCustomerResponse> getTopCustomersForMonth(YearMonth month, HttpServletRequest request) {
         User user = getUserFromCookie(request);
+        return getTopCustomersForMonth(month, user.getId());
+    }
+
+    /**
+     * Obtiene los clientes que más compraron en el mes dado para un usuario ya identificado.
+     */
+    public List<TopCustomerResponse> getTopCustomersForMonth(YearMonth month, Long userId) {
         LocalDate startDate = month.atDay(1);
         LocalDate endDate = month.atEndOfMonth();
 
-        List<Object[]> results = saleRepository.findTopCustomersForMonth(startDate, endDate, user.getId());
+        List<Object[]> results = saleRepository.findTopCustomersForMonth(startDate, endDate, userId);
 
         return results.stream()
                 .map(row -> new TopCustomerResponse(
@@ -102,12 +145,26 @@ public class ReportService {
     /**
      * Devuelve los 10 productos más vendidos en un mes.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<TopSellingProductResponse> getTopSellingProducts(YearMonth month, HttpServletRequest request) {
+        return getTopSellingProductsReport(month, request).body();
+    }
+
+    /**
+     * Devuelve los 10 productos más vendidos en un mes, junto con su ETag.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReportResultStore.Result<List<TopSellingProductResponse>> getTopSellingProductsReport(YearMonth month, HttpServletRequest request) {
         User user = getUserFromCookie(request);
+        return report(user.getId(), ReportType.TOP_SELLING_PRODUCTS, month.atDay(1),
+                () -> calculateTopSellingProducts(month, user.getId()));
+    }
+
+    private List<TopSellingProductResponse> calculateTopSellingProducts(YearMonth month, Long userId) {
         LocalDate startDate = month.atDay(1);
         LocalDate endDate = month.atEndOfMonth();
 
-        List<Object[]> results = saleDetailRepository.findTop10SellingProducts(startDate, endDate, user.getId());
+        List<Object[]> results = saleDetailRepository.findTop10SellingProducts(startDate, endDate, userId);
 
         return results.stream()
                 .map(row -> new TopSellingProductResponse(
@@ -121,26 +178,38 @@ public class ReportService {
 
     /**
      * Calcula la rentabilidad anual del negocio.
+     * Lee una sola vez los resúmenes diarios del año (como máximo 366 filas) y arma el total y los trimestres en memoria.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProfitabilityDTO getProfitabilityByYear(int year, HttpServletRequest request) {
+        return getProfitabilityReport(year, request).body();
+    }
+
+    /**
+     * Calcula la rentabilidad anual del negocio, junto con su ETag.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReportResultStore.Result<ProfitabilityDTO> getProfitabilityReport(int year, HttpServletRequest request) {
         User user = getUserFromCookie(request);
+        return report(user.getId(), ReportType.PROFITABILITY, LocalDate.of(year, 1, 1),
+                () -> calculateProfitability(year, user.getId()));
+    }
+
+    private ProfitabilityDTO calculateProfitability(int year, Long userId) {
         LocalDate startDate = LocalDate.of(year, 1, 1);
         LocalDate endDate = LocalDate.of(year, 12, 31);
 
-        List<Sale> sales = saleRepository.findSalesBetweenDates(startDate, endDate, user.getId());
-        List<Expense> expenses = expenseRepository.findExpensesBetweenDates(startDate, endDate, user.getId());
+        List<DailySummary> summaries = dailySummaryRepository
+                .findByUserIdAndSummaryDateBetweenOrderBySummaryDateAsc(userId, startDate, endDate);
 
         BigDecimal totalIncome = BigDecimal.ZERO;
         BigDecimal totalProductCost = BigDecimal.ZERO;
         BigDecimal totalExpenses = BigDecimal.ZERO;
 
-        for (Sale sale : sales) {
-            totalIncome = totalIncome.add(sale.getTotalSale());
-            totalProductCost = totalProductCost.add(sale.getTotalCost());
-        }
-
-        for (Expense expense : expenses) {
-            totalExpenses = totalExpenses.add(BigDecimal.valueOf(expense.getAmount()));
+        for (DailySummary summary : summaries) {
+            totalIncome = totalIncome.add(summary.getIncome());
+            totalProductCost = totalProductCost.add(summary.getProductCost());
+            totalExpenses = totalExpenses.add(summary.getExpenseTotal());
         }
 
         BigDecimal totalCosts = totalProductCost.add(totalExpenses);
@@ -149,50 +218,52 @@ public class ReportService {
                 ? netProfit.divide(totalIncome, 4, BigDecimal.ROUND_HALF_UP).multiply(BigDecimal.valueOf(100))
                 : BigDecimal.ZERO;
 
-        List<QuarterlyProfitDTO> quarterlyData = generateQuarterlyData(year, request);
+        List<QuarterlyProfitDTO> quarterlyData = generateQuarterlyData(summaries);
 
         return new ProfitabilityDTO(year, totalIncome, totalProductCost, totalExpenses, netProfit, profitabilityPercentage, quarterlyData);
     }
 
     /**
-     * Genera los datos de rentabilidad por trimestre para un año.
+     * Genera los datos de rentabilidad por trimestre a partir de los resúmenes diarios del año.
      */
-    private List<QuarterlyProfitDTO> generateQuarterlyData(int year, HttpServletRequest request) {
-        User user = getUserFromCookie(request);
-        List<QuarterlyProfitDTO> quarterlyData = new ArrayList<>();
-
-        for (int quarter = 1; quarter <= 4; quarter++) {
-            LocalDate start = LocalDate.of(year, (quarter - 1) * 3 + 1, 1);
-            LocalDate end = start.plusMonths(2).withDayOfMonth(start.plusMonths(2).lengthOfMonth());
-
-            List<Sale> quarterlySales = saleRepository.findSalesBetweenDates(start, end, user.getId());
-            List<Expense> quarterlyExpenses = expenseRepository.findExpensesBetweenDates(start, end, user.getId());
-
-            BigDecimal quarterIncome = BigDecimal.ZERO;
-            BigDecimal quarterProductCost = BigDecimal.ZERO;
-            BigDecimal quarterExpenses = BigDecimal.ZERO;
-
-            for (Sale sale : quarterlySales) {
-                quarterIncome = quarterIncome.add(sale.getTotalSale());
-                quarterProductCost = quarterProductCost.add(sale.getTotalCost());
-            }
-
-            for (Expense expense : quarterlyExpenses) {
-                quarterExpenses = quarterExpenses.add(BigDecimal.valueOf(expense.getAmount()));
-            }
+    private List<QuarterlyProfitDTO> generateQuarterlyData(List<DailySummary> summaries) {
+        BigDecimal[] income = new BigDecimal[4];
+        BigDecimal[] productCost = new BigDecimal[4];
+        BigDecimal[] expenses = new BigDecimal[4];
+        Arrays.fill(income, BigDecimal.ZERO);
+        Arrays.fill(productCost, BigDecimal.ZERO);
+        Arrays.fill(expenses, BigDecimal.ZERO);
+
+        for (DailySummary summary : summaries) {
+            int q = (summary.getSummaryDate().getMonthValue() - 1) / 3;
+            income[q] = income[q].add(summary.getIncome());
+            productCost[q] = productCost[q].add(summary.getProductCost());
+            expenses[q] = expenses[q].add(summary.getExpenseTotal());
+        }
 
-            BigDecimal quarterTotalCosts = quarterProductCost.add(quarterExpenses);
-            BigDecimal quarterNetProfit = quarterIncome.subtract(quarterTotalCosts);
-            BigDecimal quarterPercentage = quarterIncome.compareTo(BigDecimal.ZERO) > 0
-                    ? quarterNetProfit.divide(quarterIncome, 4, BigDecimal.ROUND_HALF_UP).multiply(BigDecimal.valueOf(100))
+        List<QuarterlyProfitDTO> quarterlyData = new ArrayList<>();
+        for (int q = 0; q < 4; q++) {
+            BigDecimal quarterTotalCosts = productCost[q].add(expenses[q]);
+            BigDecimal quarterNetProfit = income[q].subtract(quarterTotalCosts);
+            BigDecimal quarterPercentage = income[q].compareTo(BigDecimal.ZERO) > 0
+                    ? quarterNetProfit.divide(income[q], 4, BigDecimal.ROUND_HALF_UP).multiply(BigDecimal.valueOf(100))
                     : BigDecimal.ZERO;
 
-            quarterlyData.add(new QuarterlyProfitDTO("Trimestre " + quarter, quarterIncome, quarterProductCost, quarterExpenses, quarterNetProfit, quarterPercentage));
+            quarterlyData.add(new QuarterlyProfitDTO("Trimestre " + (q + 1), income[q], productCost[q], expenses[q], quarterNetProfit, quarterPercentage));
         }
 
         return quarterlyData;
     }
 
+    /**
+     * Reconstruye los resúmenes diarios del usuario autenticado desde sus ventas, gastos y compras.
+     */
+    @Transactional
+    public void rebuildDailySummaries(HttpServletRequest request) {
+        User user = getUserFromCookie(request);
+        dailySummaryService.rebuild(user.getId());
+    }
+
     /**
      * Obtiene el usuario autenticado desde la cookie.
      */
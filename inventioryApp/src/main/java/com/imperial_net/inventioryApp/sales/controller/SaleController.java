@@ -1,15 +1,19 @@
 package com.imperial_net.inventioryApp.sales.controller;
 
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
 import com.imperial_net.inventioryApp.sales.dto.SaleRequestDTO;
 import com.imperial_net.inventioryApp.sales.dto.SaleResponseDTO;
 import com.imperial_net.inventioryApp.sales.service.SaleService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -38,6 +42,40 @@ public class SaleController {
         return ResponseEntity.ok(saleService.getAllSales(request));
     }
 
+    /**
+     * Obtiene una página de ventas del usuario autenticado, paginada por cursor.
+     *
+     * @param cursor  cursor devuelto por la página anterior; se omite para la primera página.
+     * @param size    cantidad de elementos por página (máximo 100).
+     * @param request solicitud HTTP con la sesión del usuario.
+     * @return página de ventas con el cursor de la siguiente.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<SaleResponseDTO>> getSalesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(saleService.getSalesPage(request, cursor, size));
+    }
+
+    /**
+     * Exporta las ventas del usuario autenticado en formato NDJSON (un objeto JSON por línea).
+     * La respuesta se envía a medida que se leen los registros.
+     *
+     * @param from     fecha inicial (yyyy-MM-dd, inclusive); se omite para exportar desde el inicio.
+     * @param to       fecha final (yyyy-MM-dd, inclusive); se omite para exportar hasta hoy.
+     * @param request  solicitud HTTP con la sesión del usuario.
+     * @param response respuesta HTTP donde se escribe la exportación.
+     */
+    @GetMapping("/export")
+    public void exportSales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        saleService.exportSales(request, from, to, response);
+    }
+
     /**
      * Obtiene los detalles de una venta por su ID.
      */
@@ -5,8 +5,13 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Entidad que representa un detalle de una venta.
@@ -66,4 +71,15 @@ public class SaleDetail {
     @NotNull
     @Positive
     private BigDecimal costPrice;
+
+    /**
+     * Lotes de compra consumidos por este detalle y la cantidad tomada de cada uno.
+     * Se usan para devolver el stock exacto a los lotes al anular o eliminar la venta.
+     * Se cargan en bloque para todos los detalles de la venta en una sola consulta.
+     */
+    @OneToMany(mappedBy = "saleDetail", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<SaleDetailLotAllocation> lotAllocations = new ArrayList<>();
 }
@@ -0,0 +1,66 @@
+package com.imperial_net.inventioryApp.sales.model;
+
+import com.imperial_net.inventioryApp.purchases.model.Purchase;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Entidad que registra cuánto stock de cada lote de compra consumió un detalle de venta.
+ * Se escribe al aplicar FIFO en la venta y permite devolver exactamente esas cantidades
+ * a los mismos lotes cuando la venta se anula o se elimina.
+ */
+@Entity
+@Table(name = "sale_detail_lot_allocations", indexes = {
+        @Index(name = "idx_lot_allocations_sale_detail", columnList = "sale_detail_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class SaleDetailLotAllocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Detalle de venta al que pertenece la asignación.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sale_detail_id", nullable = false)
+    private SaleDetail saleDetail;
+
+    /**
+     * Lote de compra del que se tomó el stock.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "purchase_id", nullable = false)
+    private Purchase purchase;
+
+    /**
+     * Cantidad tomada del lote.
+     */
+    @NotNull
+    @Positive
+    @Column(nullable = false, precision = 10, scale = 3)
+    private BigDecimal quantity;
+
+    /**
+     * Costo unitario del lote al momento de la venta.
+     */
+    @NotNull
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal unitCost;
+
+    public SaleDetailLotAllocation(SaleDetail saleDetail, Purchase purchase, BigDecimal quantity, BigDecimal unitCost) {
+        this.saleDetail = saleDetail;
+        this.purchase = purchase;
+        this.quantity = quantity;
+        this.unitCost = unitCost;
+    }
+}
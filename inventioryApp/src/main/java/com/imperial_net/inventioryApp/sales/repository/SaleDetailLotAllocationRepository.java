@@ -0,0 +1,21 @@
+package com.imperial_net.inventioryApp.sales.repository;
+
+import com.imperial_net.inventioryApp.sales.model.SaleDetailLotAllocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio JPA para la entidad {@link SaleDetailLotAllocation}.
+ * Las asignaciones se crean y eliminan en cascada desde {@code SaleDetail}; este repositorio se usa para consultas.
+ */
+@Repository
+public interface SaleDetailLotAllocationRepository extends JpaRepository<SaleDetailLotAllocation, Long> {
+
+    /**
+     * Indica si algún detalle de venta consumió stock del lote de compra indicado.
+     *
+     * @param purchaseId ID de la compra (lote).
+     * @return true si el lote tiene asignaciones registradas.
+     */
+    boolean existsByPurchaseId(Long purchaseId);
+}
@@ -19,6 +19,39 @@ import java.util.List;
 @Repository
 public interface SaleDetailRepository extends JpaRepository<SaleDetail, Long> {
 
+    /**
+     * Consulta base de lectura de detalles: trae en un solo SELECT el detalle, su venta con el usuario y el cliente,
+     * el producto y su marca.
+     */
+    String DETAIL_READ_MODEL = "SELECT d FROM SaleDetail d JOIN FETCH d.sale s JOIN FETCH s.user LEFT JOIN FETCH s.customer " +
+            "JOIN FETCH d.product p LEFT JOIN FETCH p.brand ";
+
+    /**
+     * Todos los detalles con venta, cliente, producto y marca cargados en una sola consulta.
+     *
+     * @return lista de detalles ordenada por ID.
+     */
+    @Query(DETAIL_READ_MODEL + "ORDER BY d.id")
+    List<SaleDetail> findAllWithSaleAndProduct();
+
+    /**
+     * Detalles de una venta con su producto y marca cargados en una sola consulta.
+     *
+     * @param saleId ID de la venta.
+     * @return lista de detalles ordenada por ID.
+     */
+    @Query(DETAIL_READ_MODEL + "WHERE s.id = :saleId ORDER BY d.id")
+    List<SaleDetail> findWithSaleAndProductBySaleId(@Param("saleId") Long saleId);
+
+    /**
+     * Detalles en los que se vendió un producto, con su venta y cliente cargados en una sola consulta.
+     *
+     * @param productId ID del producto.
+     * @return lista de detalles ordenada por ID.
+     */
+    @Query(DETAIL_READ_MODEL + "WHERE p.id = :productId ORDER BY d.id")
+    List<SaleDetail> findWithSaleAndProductByProductId(@Param("productId") Long productId);
+
     /**
      * Busca todos los detalles de una venta específica.
      * Este método se utiliza para obtener todos los productos que forman parte de una venta dada.
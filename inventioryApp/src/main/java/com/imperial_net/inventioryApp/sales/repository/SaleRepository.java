@@ -3,17 +3,32 @@ package com.imperial_net.inventioryApp.sales.repository;
 import com.imperial_net.inventioryApp.sales.model.Sale;
 import com.imperial_net.inventioryApp.sales.model.SaleStatus;
 import com.imperial_net.inventioryApp.users.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SaleRepository extends JpaRepository<Sale, Long> {
 
+    /**
+     * Consulta base de lectura de ventas: trae en un solo SELECT la venta, su cliente, sus detalles,
+     * el producto de cada detalle y su marca.
+     */
+    String SALE_READ_MODEL = "SELECT s FROM Sale s LEFT JOIN FETCH s.customer " +
+            "LEFT JOIN FETCH s.saleDetails d LEFT JOIN FETCH d.product p LEFT JOIN FETCH p.brand ";
+
     /**
      * Busca todas las ventas realizadas por un usuario en particular.
      */
@@ -75,7 +90,95 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
                                             @Param("endDate") LocalDate endDate,
                                             @Param("userId") Long userId);
 
+    /**
+     * Agrupa por día las ventas confirmadas de un usuario: fecha, total vendido, costo total y cantidad de ventas.
+     * Se usa para reconstruir los resúmenes diarios.
+     */
+    @Query("SELECT s.saleDate, SUM(s.totalSale), SUM(s.totalCost), COUNT(s.id) FROM Sale s " +
+            "WHERE s.user.id = :userId AND s.status = com.imperial_net.inventioryApp.sales.model.SaleStatus.CONFIRMED " +
+            "GROUP BY s.saleDate")
+    List<Object[]> sumConfirmedSalesByDay(@Param("userId") Long userId);
+
     List<Sale>findAllByCustomerId(Long id);
 
     Long countByUser_Id(Long userId);
+
+    /**
+     * Primera página de ventas de un usuario, de la más reciente a la más antigua.
+     *
+     * @param userId ID del usuario.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de ventas ordenada por ID descendente.
+     */
+    @EntityGraph(attributePaths = "customer")
+    List<Sale> findByUser_IdOrderByIdDesc(Long userId, Limit limit);
+
+    /**
+     * Página siguiente de ventas de un usuario a partir del último ID entregado (paginación por cursor).
+     *
+     * @param userId ID del usuario.
+     * @param lastId último ID de la página anterior.
+     * @param limit  cantidad máxima de filas.
+     * @return lista de ventas con ID menor a lastId, ordenada por ID descendente.
+     */
+    @EntityGraph(attributePaths = "customer")
+    List<Sale> findByUser_IdAndIdLessThanOrderByIdDesc(Long userId, Long lastId, Limit limit);
+
+    /**
+     * Ventas de un usuario con cliente, detalles, productos y marcas cargados en una sola consulta.
+     * Es la lectura usada por los listados para evitar una consulta por detalle o por producto.
+     *
+     * @param userId ID del usuario.
+     * @return lista de ventas ordenada por ID.
+     */
+    @Query(SALE_READ_MODEL + "WHERE s.user.id = :userId ORDER BY s.id")
+    List<Sale> findAllWithDetailsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Ventas indicadas con cliente, detalles, productos y marcas cargados en una sola consulta.
+     * Se usa después de paginar por cursor, ya que no se puede limitar una consulta que trae colecciones.
+     *
+     * @param ids IDs de las ventas.
+     * @return lista de ventas ordenada por ID descendente.
+     */
+    @Query(SALE_READ_MODEL + "WHERE s.id IN :ids ORDER BY s.id DESC")
+    List<Sale> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Venta con cliente, detalles, productos y marcas cargados en una sola consulta.
+     *
+     * @param id ID de la venta.
+     * @return la venta si existe.
+     */
+    @Query(SALE_READ_MODEL + "WHERE s.id = :id")
+    Optional<Sale> findWithDetailsById(@Param("id") Long id);
+
+    /**
+     * Ventas de un cliente con detalles, productos y marcas cargados en una sola consulta.
+     *
+     * @param customerId ID del cliente.
+     * @return lista de ventas ordenada por ID.
+     */
+    @Query(SALE_READ_MODEL + "WHERE s.customer.id = :customerId ORDER BY s.id")
+    List<Sale> findAllWithDetailsByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Recorre con cursor las ventas de un usuario junto con sus detalles, productos y cliente, para exportarlas sin cargarlas todas en memoria.
+     * Las fechas son opcionales; si se omiten no se filtra por ese extremo.
+     * El stream debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @param userId ID del usuario.
+     * @param from   fecha inicial (inclusive), o null.
+     * @param to     fecha final (inclusive), o null.
+     * @return stream de ventas ordenado por ID.
+     */
+    @Query(SALE_READ_MODEL +
+            "WHERE s.user.id = :userId " +
+            "AND (:from IS NULL OR s.saleDate >= :from) AND (:to IS NULL OR s.saleDate <= :to) " +
+            "ORDER BY s.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Sale> streamForExport(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
 }
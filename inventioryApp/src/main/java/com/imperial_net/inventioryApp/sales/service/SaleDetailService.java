@@ -1,8 +1,6 @@
 package com.imperial_net.inventioryApp.sales.service;
 
 import com.imperial_net.inventioryApp.sales.dto.SaleDetailDTO;
-import com.imperial_net.inventioryApp.products.models.Product;
-import com.imperial_net.inventioryApp.sales.model.Sale;
 import com.imperial_net.inventioryApp.sales.model.SaleDetail;
 import com.imperial_net.inventioryApp.products.repository.ProductRepository;
 import com.imperial_net.inventioryApp.sales.repository.SaleDetailRepository;
@@ -39,8 +37,9 @@ public class SaleDetailService {
     /**
      * Obtiene todos los detalles de venta y los convierte a DTOs.
      */
+    @Transactional(readOnly = true)
     public List<SaleDetailDTO> getAllSaleDetails() {
-        return saleDetailRepository.findAll().stream()
+        return saleDetailRepository.findAllWithSaleAndProduct().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -56,10 +55,12 @@ public class SaleDetailService {
     /**
      * Obtiene todos los detalles de una venta específica.
      */
+    @Transactional(readOnly = true)
     public List<SaleDetailDTO> getSaleDetailsBySale(Long saleId) {
-        Sale sale = saleRepository.findById(saleId)
-                .orElseThrow(() -> new RuntimeException("Venta no Encontrada"));
-        return saleDetailRepository.findBySale(sale).stream()
+        if (!saleRepository.existsById(saleId)) {
+            throw new RuntimeException("Venta no Encontrada");
+        }
+        return saleDetailRepository.findWithSaleAndProductBySaleId(saleId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -67,10 +68,12 @@ public class SaleDetailService {
     /**
      * Obtiene todas las ventas en las que se vendió un producto específico.
      */
+    @Transactional(readOnly = true)
     public List<SaleDetailDTO> getSaleDetailsByProduct(Long productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
-        return saleDetailRepository.findByProduct(product).stream()
+        if (!productRepository.existsById(productId)) {
+            throw new RuntimeException("Producto no encontrado");
+        }
+        return saleDetailRepository.findWithSaleAndProductByProductId(productId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
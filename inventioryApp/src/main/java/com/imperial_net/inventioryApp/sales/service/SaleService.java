@@ -3,31 +3,54 @@ package com.imperial_net.inventioryApp.sales.service;
 import com.imperial_net.inventioryApp.clients.repository.ClientRepository;
 import com.imperial_net.inventioryApp.clients.service.ClientService;
 import com.imperial_net.inventioryApp.exceptions.ClientException;
+import com.imperial_net.inventioryApp.export.NdjsonExporter;
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
+import com.imperial_net.inventioryApp.pagination.PageCursor;
+import com.imperial_net.inventioryApp.products.dto.ProductQuantityDTO;
 import com.imperial_net.inventioryApp.products.models.Product;
 import com.imperial_net.inventioryApp.products.repository.ProductRepository;
+import com.imperial_net.inventioryApp.products.service.StockReservationService;
 import com.imperial_net.inventioryApp.purchases.model.Purchase;
 import com.imperial_net.inventioryApp.purchases.repository.PurchaseRepository;
+import com.imperial_net.inventioryApp.reports.service.DailySummaryService;
 import com.imperial_net.inventioryApp.sales.dto.SaleDetailDTO;
 import com.imperial_net.inventioryApp.sales.dto.SaleRequestDTO;
 import com.imperial_net.inventioryApp.sales.dto.SaleResponseDTO;
 import com.imperial_net.inventioryApp.sales.model.PaymentMethod;
 import com.imperial_net.inventioryApp.sales.model.Sale;
 import com.imperial_net.inventioryApp.sales.model.SaleDetail;
+import com.imperial_net.inventioryApp.sales.model.SaleDetailLotAllocation;
 import com.imperial_net.inventioryApp.sales.model.SaleStatus;
 import com.imperial_net.inventioryApp.sales.repository.SaleRepository;
 import com.imperial_net.inventioryApp.auth.service.CookieService;
-import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.suscriptions.model.RecordType;
+import com.imperial_net.inventioryApp.suscriptions.service.PlanQuotaService;
 import com.imperial_net.inventioryApp.users.model.User;
 import com.imperial_net.inventioryApp.users.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -41,11 +64,42 @@ public class SaleService {
     private final ClientService clientService;
     private final CookieService cookieService;
     private final PurchaseRepository purchaseRepository;
+    private final StockReservationService stockReservationService;
+    private final DailySummaryService dailySummaryService;
+    private final NdjsonExporter ndjsonExporter;
+    private final PlanQuotaService planQuotaService;
+    private final PlatformTransactionManager transactionManager;
+
+    // Intentos de registrar una venta cuando otra venta simultánea modificó los mismos lotes de compra
+    private static final int MAX_SALE_ATTEMPTS = 3;
+
     /**
      * Crea una nueva venta a partir de un SaleRequestDTO.
+     * Usa READ_COMMITTED para que los lotes leídos luego de descontar el stock reflejen
+     * las ventas simultáneas ya confirmadas sobre los mismos productos.
+     * Si al confirmar otra venta ya había modificado alguno de los lotes usados (versión distinta),
+     * la venta completa se vuelve a intentar en una transacción nueva, hasta {@value #MAX_SALE_ATTEMPTS} veces.
+     * Dentro de una transacción ya iniciada no se reintenta: la venta se registra en ella una sola vez.
      */
-    @Transactional
     public SaleResponseDTO createSale(SaleRequestDTO saleDTO, HttpServletRequest request) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return registerSale(saleDTO, request);
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> registerSale(saleDTO, request));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_SALE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private SaleResponseDTO registerSale(SaleRequestDTO saleDTO, HttpServletRequest request) {
         User user = cookieService.getUserFromCookie(request)
                 .orElseThrow(() -> new ClientException("Usuario no autenticado. No se puede registrar la venta."));
 
@@ -60,69 +114,145 @@ public class SaleService {
                     .orElseThrow(() -> new RuntimeException("Cliente no encontrado")));
         }
 
-        List<SaleDetail> details = saleDTO.getProducts().stream().map(dto -> {
-            Product product = productRepository.findById(dto.getProductId())
-                    .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
+        if (!planQuotaService.tryRegister(user, RecordType.SALE, () -> saleRepository.countByUser_Id(user.getId()))) {
+            throw new RuntimeException("Ha alcanzado el límite de registros para el plan FREE. Si desea acceder a registros ilimiatados, debe suscribirse al plan PRO");
+        }
 
-            BigDecimal totalStockDisponible = product.getStock();
-            if (totalStockDisponible.compareTo(dto.getQuantity()) < 0) {
+        // Carga en bloque de los productos del ticket (una sola consulta)
+        Set<Long> productIds = saleDTO.getProducts().stream()
+                .map(ProductQuantityDTO::getProductId)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllWithBrandByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Descuento atómico del stock, agrupando los renglones del mismo producto.
+        // Se hace antes de leer los lotes para que, con la fila del producto ya bloqueada, la lectura vea el estado confirmado.
+        // Las filas se bloquean en orden de ID: dos tickets con los mismos productos en distinto orden no se bloquean mutuamente.
+        Map<Long, BigDecimal> quantities = new TreeMap<>();
+        for (ProductQuantityDTO dto : saleDTO.getProducts()) {
+            if (!products.containsKey(dto.getProductId())) {
+                throw new RuntimeException("Producto no encontrado");
+            }
+            quantities.merge(dto.getProductId(), dto.getQuantity(), BigDecimal::add);
+        }
+        quantities.forEach((productId, quantity) -> {
+            if (!stockReservationService.tryReserve(productId, quantity)) {
+                Product product = products.get(productId);
                 throw new RuntimeException("Stock insuficiente para el producto Código: " + product.getCode() + " - " + product.getName() +". Cantidad disponible: " + product.getStock().setScale(2, RoundingMode.HALF_UP)
                 );
             }
+        });
+
+        // Carga en bloque de los lotes abiertos de todos los productos del ticket
+        Map<Long, Deque<Purchase>> openLots = purchaseRepository.findOpenLotsByProductIds(productIds).stream()
+                .collect(Collectors.groupingBy(p -> p.getProduct().getId(), Collectors.toCollection(ArrayDeque::new)));
 
-            BigDecimal costoUnitario = calcularCostoReal(dto.getProductId(), dto.getQuantity());
+        Set<Purchase> touchedLots = new LinkedHashSet<>();
+        List<SaleDetail> details = new ArrayList<>();
 
-            product.setStock(product.getStock().subtract(dto.getQuantity()));
-            productRepository.save(product);
+        for (ProductQuantityDTO dto : saleDTO.getProducts()) {
+            Product product = products.get(dto.getProductId());
 
             SaleDetail detail = new SaleDetail();
             detail.setSale(sale);
             detail.setProduct(product);
             detail.setQuantity(dto.getQuantity());
             detail.setSalePrice(product.getSalePrice());
-            detail.setCostPrice(costoUnitario);
             detail.setSubtotal(product.getSalePrice().multiply(dto.getQuantity()));
 
-            return detail;
-        }).collect(Collectors.toList());
-
-        sale.setSaleDetails(details);
-        calcularTotales(sale);
+            BigDecimal costoUnitario = calcularCostoReal(detail, openLots.getOrDefault(product.getId(), new ArrayDeque<>()), touchedLots);
+            detail.setCostPrice(costoUnitario);
 
-        if (this.validateNumberOfRecords(user)){
-            Sale savedSale = saleRepository.save(sale);
-            return convertToDTO(savedSale);
-        }else {
-            throw new RuntimeException(     "Ha alcanzado el límite de registros para el plan FREE. Si desea acceder a registros ilimiatados, debe suscribirse al plan PRO");
+            details.add(detail);
         }
 
+        // Los lotes modificados se envían juntos al final (hibernate.jdbc.batch_size agrupa los UPDATE)
+        purchaseRepository.saveAll(touchedLots);
 
+        sale.setSaleDetails(details);
+        calcularTotales(sale);
+
+        Sale savedSale = saleRepository.save(sale);
+        dailySummaryService.recordSale(savedSale);
+        return convertToDTO(savedSale);
     }
     /**
      * Obtiene todas las ventas y las convierte a DTOs.
+     * Las ventas se leen con sus detalles, productos, marcas y clientes en una sola consulta.
      */
+    @Transactional(readOnly = true)
     public List<SaleResponseDTO> getAllSales( HttpServletRequest request) {
        User user = cookieService.getUserFromCookie(request).orElseThrow( ()-> new RuntimeException("Usuario no autenticado"));
 
 
-        return saleRepository.findByUser(user).stream()
+        return saleRepository.findAllWithDetailsByUserId(user.getId()).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Obtiene una página de ventas del usuario autenticado, de la más reciente a la más antigua.
+     * Usa paginación por cursor: cada página cuesta una consulta acotada sin importar su posición.
+     *
+     * @param request petición HTTP con la cookie del usuario.
+     * @param cursor  cursor devuelto por la página anterior, o null para la primera.
+     * @param size    tamaño de página (por defecto {@value PageCursor#DEFAULT_SIZE}, máximo {@value PageCursor#MAX_SIZE}).
+     * @return la página de ventas y el cursor de la siguiente.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SaleResponseDTO> getSalesPage(HttpServletRequest request, String cursor, Integer size) {
+        Long userId = cookieService.getUserFromCookie(request)
+                .map(User::getId)
+                .orElseThrow(() -> new RuntimeException("Usuario no autenticado"));
+
+        int pageSize = PageCursor.pageSize(size);
+        Long lastId = PageCursor.decode(cursor);
+        List<Sale> rows = lastId == null
+                ? saleRepository.findByUser_IdOrderByIdDesc(userId, PageCursor.queryLimit(pageSize))
+                : saleRepository.findByUser_IdAndIdLessThanOrderByIdDesc(userId, lastId, PageCursor.queryLimit(pageSize));
+        CursorPageDTO<Sale> page = PageCursor.toPage(rows, pageSize, Sale::getId, Function.identity());
+
+        // Segunda consulta para traer detalles, productos y marcas de toda la página juntos
+        List<Long> ids = page.getItems().stream().map(Sale::getId).toList();
+        List<SaleResponseDTO> items = ids.isEmpty() ? List.of() : saleRepository.findAllWithDetailsByIdIn(ids).stream()
+                .map(this::convertToDTO)
+                .toList();
+        return new CursorPageDTO<>(items, page.getNextCursor(), page.isHasMore());
+    }
+
+    /**
+     * Exporta las ventas del usuario autenticado con sus detalles en formato NDJSON, escribiendo directamente en la respuesta.
+     * Las filas se leen con cursor, por lo que la memoria usada no depende del período exportado.
+     *
+     * @param request  petición HTTP con la cookie del usuario.
+     * @param from     fecha inicial (inclusive), o null para no limitar.
+     * @param to       fecha final (inclusive), o null para no limitar.
+     * @param response respuesta HTTP donde se escribe la exportación.
+     */
+    @Transactional(readOnly = true)
+    public void exportSales(HttpServletRequest request, LocalDate from, LocalDate to, HttpServletResponse response) {
+        Long userId = cookieService.getUserFromCookie(request)
+                .map(User::getId)
+                .orElseThrow(() -> new RuntimeException("Usuario no autenticado"));
+
+        ndjsonExporter.write(response, "ventas.ndjson", saleRepository.streamForExport(userId, from, to), this::convertToDTO);
+    }
+
     /**
      * Obtiene una venta por su ID y la convierte a DTO.
      */
+    @Transactional(readOnly = true)
     public SaleResponseDTO getSaleById(Long id) {
-        Sale sale = saleRepository.findById(id)
+        Sale sale = saleRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new RuntimeException("Sale not found"));
         return convertToDTO(sale);
     }
 
     /**
      * Calcula los totales de la venta.
+     * Visible en el paquete para los benchmarks.
      */
-    private void calcularTotales(Sale sale) {
+    static void calcularTotales(Sale sale) {
         BigDecimal totalSale = BigDecimal.ZERO;
         BigDecimal totalCost = BigDecimal.ZERO;
 
@@ -155,8 +285,9 @@ public class SaleService {
 
     /**
      * Convierte una entidad Sale en un SaleResponseDTO.
+     * Visible en el paquete para los benchmarks.
      */
-    private SaleResponseDTO convertToDTO(Sale sale) {
+    SaleResponseDTO convertToDTO(Sale sale) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
         SaleResponseDTO dto = new SaleResponseDTO();
         dto.setId(sale.getId());
@@ -171,7 +302,7 @@ public class SaleService {
         dto.setExtra_charge_percentage(sale.getExtra_charge_percentage());
 
         if (sale.getCustomer() != null) {
-            dto.setClient(clientService.convertToDto(clientRepository.findById(sale.getCustomer().getId()).get()));
+            dto.setClient(clientService.convertToDto(sale.getCustomer()));
         }
 
         dto.setSaleDetails(sale.getSaleDetails().stream().map(detail -> {
@@ -206,22 +337,25 @@ public class SaleService {
         return dto;
     }
 
-    private BigDecimal calcularCostoReal(Long productId, BigDecimal cantidadVendida) {
-        List<Purchase> compras = purchaseRepository.findByProductIdAndStateOrderByPurchaseDateAsc(productId, true);
-
-        compras = compras.stream()
-                .filter(p -> p.getRemainingStock().compareTo(BigDecimal.ZERO) > 0)
-                .collect(Collectors.toList());
+    /**
+     * Calcula el costo unitario real de lo vendido consumiendo los lotes abiertos del producto en orden FIFO.
+     * Los lotes ya vienen cargados y ordenados por fecha de compra; los que se modifican se agregan a {@code touchedLots}.
+     * Cada lote consumido queda registrado en el detalle como {@link SaleDetailLotAllocation}.
+     * Visible en el paquete para los benchmarks.
+     */
+    static BigDecimal calcularCostoReal(SaleDetail detail, Deque<Purchase> compras, Set<Purchase> touchedLots) {
+        Product product = detail.getProduct();
+        BigDecimal cantidadVendida = detail.getQuantity();
 
         if (compras.isEmpty()) {
-            throw new RuntimeException("No hay compras disponibles con stock para el producto Código: " + productRepository.findById(productId).get().getCode() );
+            throw new RuntimeException("No hay compras disponibles con stock para el producto Código: " + product.getCode() );
         }
 
         BigDecimal cantidadRestante = cantidadVendida;
         BigDecimal costoTotal = BigDecimal.ZERO;
 
-        for (Purchase compra : compras) {
-            if (cantidadRestante.compareTo(BigDecimal.ZERO) == 0) break;
+        while (cantidadRestante.compareTo(BigDecimal.ZERO) > 0 && !compras.isEmpty()) {
+            Purchase compra = compras.peekFirst();
 
             BigDecimal cantidadDisponible = compra.getRemainingStock();
             BigDecimal cantidadTomada = cantidadRestante.min(cantidadDisponible);
@@ -231,16 +365,18 @@ public class SaleService {
 
             if (compra.getRemainingStock().compareTo(BigDecimal.ZERO) == 0) {
                 compra.setState(false);
+                compras.pollFirst();
             }
 
-            purchaseRepository.save(compra);
+            touchedLots.add(compra);
+            detail.getLotAllocations().add(new SaleDetailLotAllocation(detail, compra, cantidadTomada, compra.getPurchasePrice()));
 
             costoTotal = costoTotal.add(costoParcial);
             cantidadRestante = cantidadRestante.subtract(cantidadTomada);
         }
 
         if (cantidadRestante.compareTo(BigDecimal.ZERO) > 0) {
-            throw new RuntimeException("Stock insuficiente para completar la venta del producto Código: " + productRepository.findById(productId).get().getCode() );
+            throw new RuntimeException("Stock insuficiente para completar la venta del producto Código: " + product.getCode() );
         }
 
         return costoTotal.divide(cantidadVendida, 2, BigDecimal.ROUND_HALF_UP);
@@ -257,8 +393,10 @@ public class SaleService {
 
         restoreStockFromSale(sale);         // Restaurar stock del producto
         restorePurchasesFromSale(sale);     // Restaurar compras usadas en esta venta
+        dailySummaryService.reverseSale(sale);
 
         saleRepository.delete(sale);
+        planQuotaService.unregister(sale.getUser(), RecordType.SALE);
         return true;
     }
 
@@ -269,81 +407,125 @@ public class SaleService {
                 .orElseThrow(() -> new RuntimeException("Venta no encontrada"));
 
         if (sale.getStatus().equals(SaleStatus.CONFIRMED)) {
+            dailySummaryService.reverseSale(sale);
             sale.setStatus(SaleStatus.CANCELED);
             restoreStockFromSale(sale); // 🟢 Restaurar stock al anular
+            restorePurchasesFromSale(sale);
         } else if (sale.getStatus().equals(SaleStatus.CANCELED)) {
             sale.setStatus(SaleStatus.CONFIRMED);
             deductStockFromSale(sale); // 🔴 Restar stock al confirmar de nuevo
+            reallocatePurchasesForSale(sale);
+            dailySummaryService.recordSale(sale);
         }
 
         return this.convertToDTO(saleRepository.save(sale));
     }
 
     private void restoreStockFromSale(Sale sale) {
-        for (SaleDetail detail : sale.getSaleDetails()) {
-            Product product = detail.getProduct();
-            product.setStock(product.getStock().add(detail.getQuantity()));
-            productRepository.save(product);
-        }
+        quantitiesByProduct(sale).forEach(stockReservationService::release);
     }
 
     private void deductStockFromSale(Sale sale) {
-        for (SaleDetail detail : sale.getSaleDetails()) {
-            Product product = detail.getProduct();
-            if (product.getStock().compareTo(detail.getQuantity()) < 0) {
-                throw new RuntimeException("Stock insuficiente para reactivar la venta del producto ID: " + product.getId());
+        quantitiesByProduct(sale).forEach((productId, quantity) -> {
+            if (!stockReservationService.tryReserve(productId, quantity)) {
+                throw new RuntimeException("Stock insuficiente para reactivar la venta del producto ID: " + productId);
             }
-            product.setStock(product.getStock().subtract(detail.getQuantity()));
-            productRepository.save(product);
+        });
+    }
+
+    /**
+     * Cantidades de la venta por producto, ordenadas por ID para bloquear las filas de productos siempre en el mismo orden.
+     */
+    private static Map<Long, BigDecimal> quantitiesByProduct(Sale sale) {
+        Map<Long, BigDecimal> quantities = new TreeMap<>();
+        for (SaleDetail detail : sale.getSaleDetails()) {
+            quantities.merge(detail.getProduct().getId(), detail.getQuantity(), BigDecimal::add);
         }
+        return quantities;
     }
 
+    @Transactional(readOnly = true)
     public List<SaleResponseDTO> getSalesToClient(Long id) {
-         return  saleRepository.findAllByCustomerId (id).stream().map(this::convertToDTO).collect(Collectors.toList());
+         return  saleRepository.findAllWithDetailsByCustomerId(id).stream().map(this::convertToDTO).collect(Collectors.toList());
     }
 
+    /**
+     * Devuelve a los lotes de compra el stock que consumió la venta, según las asignaciones registradas.
+     * Las asignaciones de todos los detalles se cargan juntas y cada lote recibe un único UPDATE con la suma a devolver.
+     * Los detalles de ventas anteriores al registro de asignaciones se restauran buscando lotes por precio de costo.
+     */
     private void restorePurchasesFromSale(Sale sale) {
+        Map<Long, BigDecimal> cantidadesPorLote = new TreeMap<>(); // Lotes en orden de ID, como los productos
+
         for (SaleDetail detail : sale.getSaleDetails()) {
-            BigDecimal cantidadRestante = detail.getQuantity();
-            BigDecimal costoUnitario = detail.getCostPrice();
-
-            // Buscar compras que coincidan con el precio de costo y el producto
-            List<Purchase> compras = purchaseRepository
-                    .findByProductIdOrderByPurchaseDateAsc(detail.getProduct().getId());
-
-            for (Purchase compra : compras) {
-                if (compra.getPurchasePrice().compareTo(costoUnitario) == 0) {
-                    // Revertir la cantidad usada
-                    BigDecimal cantidadARestaurar = cantidadRestante.min(compra.getQuantity().subtract(compra.getRemainingStock()));
-                    compra.setRemainingStock(compra.getRemainingStock().add(cantidadARestaurar));
-
-                    // Restaurar el estado si es necesario
-                    if (compra.getRemainingStock().compareTo(BigDecimal.ZERO) > 0) {
-                        compra.setState(true);
-                    }
-
-                    purchaseRepository.save(compra);
-                    cantidadRestante = cantidadRestante.subtract(cantidadARestaurar);
-
-                    if (cantidadRestante.compareTo(BigDecimal.ZERO) == 0) {
-                        break;
-                    }
-                }
+            if (detail.getLotAllocations().isEmpty()) {
+                restorePurchasesByCostPrice(detail);
+                continue;
             }
-
-            if (cantidadRestante.compareTo(BigDecimal.ZERO) > 0) {
-                throw new RuntimeException("No se pudo restaurar completamente el stock de compras para el producto " + detail.getProduct().getName());
+            for (SaleDetailLotAllocation allocation : detail.getLotAllocations()) {
+                cantidadesPorLote.merge(allocation.getPurchase().getId(), allocation.getQuantity(), BigDecimal::add);
             }
+            detail.getLotAllocations().clear(); // Los lotes vuelven a estar disponibles; se reasignan si la venta se reactiva
         }
+
+        cantidadesPorLote.forEach(purchaseRepository::restoreRemainingStock);
     }
 
-    //DEVUELVE TRUE SI ESTA TODO OK PARA CONTINUAR
-    public boolean validateNumberOfRecords(User user) {
-        if (user.getSubscription() == Subscription.FREE) {
-            return saleRepository.countByUser_Id(user.getId()) < 10;
+    /**
+     * Vuelve a consumir lotes en orden FIFO para una venta anulada que se reactiva,
+     * actualizando el costo de cada detalle y los totales de la venta.
+     */
+    private void reallocatePurchasesForSale(Sale sale) {
+        Set<Long> productIds = sale.getSaleDetails().stream()
+                .map(detail -> detail.getProduct().getId())
+                .collect(Collectors.toSet());
+        Map<Long, Deque<Purchase>> openLots = purchaseRepository.findOpenLotsByProductIds(productIds).stream()
+                .collect(Collectors.groupingBy(p -> p.getProduct().getId(), Collectors.toCollection(ArrayDeque::new)));
+
+        Set<Purchase> touchedLots = new LinkedHashSet<>();
+        for (SaleDetail detail : sale.getSaleDetails()) {
+            detail.getLotAllocations().clear();
+            detail.setCostPrice(calcularCostoReal(detail, openLots.getOrDefault(detail.getProduct().getId(), new ArrayDeque<>()), touchedLots));
         }
-        return true;
+
+        purchaseRepository.saveAll(touchedLots);
+        calcularTotales(sale);
     }
 
+    /**
+     * Restauración para ventas registradas sin asignaciones de lotes:
+     * busca compras del producto cuyo precio coincida con el costo del detalle.
+     */
+    private void restorePurchasesByCostPrice(SaleDetail detail) {
+        BigDecimal cantidadRestante = detail.getQuantity();
+        BigDecimal costoUnitario = detail.getCostPrice();
+
+        // Buscar compras que coincidan con el precio de costo y el producto
+        List<Purchase> compras = purchaseRepository
+                .findByProductIdOrderByPurchaseDateAsc(detail.getProduct().getId());
+
+        for (Purchase compra : compras) {
+            if (compra.getPurchasePrice().compareTo(costoUnitario) == 0) {
+                // Revertir la cantidad usada
+                BigDecimal cantidadARestaurar = cantidadRestante.min(compra.getQuantity().subtract(compra.getRemainingStock()));
+                compra.setRemainingStock(compra.getRemainingStock().add(cantidadARestaurar));
+
+                // Restaurar el estado si es necesario
+                if (compra.getRemainingStock().compareTo(BigDecimal.ZERO) > 0) {
+                    compra.setState(true);
+                }
+
+                purchaseRepository.save(compra);
+                cantidadRestante = cantidadRestante.subtract(cantidadARestaurar);
 
+                if (cantidadRestante.compareTo(BigDecimal.ZERO) == 0) {
+                    break;
+                }
+            }
+        }
+
+        if (cantidadRestante.compareTo(BigDecimal.ZERO) > 0) {
+            throw new RuntimeException("No se pudo restaurar completamente el stock de compras para el producto " + detail.getProduct().getName());
+        }
+    }
 }
@@ -1,5 +1,8 @@
 package com.imperial_net.inventioryApp.security;
 
+import com.imperial_net.inventioryApp.tracing.SqlTrace;
+import com.imperial_net.inventioryApp.users.model.User;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.Cookie;
@@ -13,9 +16,11 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import java.util.Optional;
+
 /**
  * Filtro que intercepta las solicitudes HTTP para verificar el token JWT en las cookies.
- * Si el token es válido, autentica al usuario.
+ * Si el token es válido, autentica al usuario. Los tokens ya verificados se toman de {@link VerifiedTokenCache}.
  */
 @Component
 @RequiredArgsConstructor
@@ -25,6 +30,8 @@ public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     // Servicio de detalles de usuario para cargar la información del usuario.
     private final UserDetailsService userDetailsService;
+    // Caché de tokens ya verificados para las peticiones repetidas de una sesión.
+    private final VerifiedTokenCache verifiedTokenCache;
 
     /**
      * Método principal del filtro, intercepta las solicitudes HTTP y valida el token JWT.
@@ -44,17 +51,23 @@ public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
             // Extrae el token JWT de las cookies de la solicitud
             String jwtToken = extractTokenFromCookies(request);
             if (jwtToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Extrae el nombre de usuario del token JWT
-                String username = jwtService.extractUserName(jwtToken);
-                if (username != null) {
-                    // Carga los detalles del usuario basado en el nombre de usuario
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    // Si el token es válido, autentica al usuario
-                    if (jwtService.isTokenValid(jwtToken, userDetails)) {
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                        // Establece la autenticación en el contexto de seguridad
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                Optional<UserDetails> cached = verifiedTokenCache.get(jwtToken);
+                if (cached.isPresent()) {
+                    // Token verificado recientemente: no se vuelve a comprobar la firma ni a cargar el usuario
+                    authenticate(cached.get());
+                } else {
+                    long cacheGeneration = verifiedTokenCache.generation();
+                    // Verifica la firma y extrae los reclamos del token JWT una sola vez
+                    Claims claims = jwtService.parseClaims(jwtToken);
+                    String username = claims.getSubject();
+                    if (username != null) {
+                        // Carga los detalles del usuario basado en el nombre de usuario
+                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                        // Si el token es válido, autentica al usuario
+                        if (jwtService.isTokenValid(claims, userDetails)) {
+                            authenticate(userDetails);
+                            verifiedTokenCache.put(jwtToken, userDetails, claims.getExpiration(), cacheGeneration);
+                        }
                     }
                 }
             }
@@ -69,6 +82,23 @@ public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Establece la autenticación del usuario en el contexto de seguridad.
+     *
+     * @param userDetails el usuario autenticado.
+     */
+    private void authenticate(UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        // Identifica al negocio en la traza SQL de la petición
+        SqlTrace trace = SqlTrace.current();
+        if (trace != null) {
+            trace.setTenant(userDetails instanceof User user ? String.valueOf(user.getId()) : userDetails.getUsername());
+        }
+    }
+
     /**
      * Extrae el token JWT desde las cookies de la solicitud HTTP.
      *
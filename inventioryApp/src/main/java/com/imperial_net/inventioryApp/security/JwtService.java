@@ -1,10 +1,12 @@
 package com.imperial_net.inventioryApp.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,6 +21,7 @@ import java.util.function.Function;
 /**
  * Clase encargada de la creación, validación y extracción de datos de los JWTs (JSON Web Tokens).
  * Este servicio permite generar un token JWT, validar su autenticidad y extraer los datos del token.
+ * La clave de firma y el parser se crean una sola vez al iniciar; ambos son inmutables y seguros entre hilos.
  */
 @Service
 public class JwtService {
@@ -27,6 +30,24 @@ public class JwtService {
     @Value("${jwt.secret}")
     private String secretKey;
 
+    // Clave HMAC derivada de secretKey, creada una sola vez.
+    private Key signInKey;
+
+    // Parser reutilizable configurado con la clave de firma.
+    private JwtParser parser;
+
+    /**
+     * Inicializa la clave de firma y el parser a partir de la clave secreta configurada.
+     */
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);  // Decodifica la clave secreta desde base64.
+        this.signInKey = Keys.hmacShaKeyFor(keyBytes);  // Crea la clave de firma con el algoritmo HMAC.
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)  // Establece la clave secreta para verificar la firma.
+                .build();
+    }
+
     /**
      * Extrae el nombre de usuario del token JWT.
      *
@@ -55,28 +76,20 @@ public class JwtService {
      * @return true si el token es válido, false en caso contrario.
      */
     public boolean isTokenValid(String jwt, UserDetails userDetails) {
-        final String username = extractUserName(jwt);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(jwt));
-    }
-
-    /**
-     * Verifica si el token JWT ha expirado.
-     *
-     * @param jwt el token JWT.
-     * @return true si el token ha expirado, false si no.
-     */
-    private boolean isTokenExpired(String jwt) {
-        return extractExpiration(jwt).before(new Date());
+        return isTokenValid(parseClaims(jwt), userDetails);
     }
 
     /**
-     * Extrae la fecha de expiración del token JWT.
+     * Verifica si los reclamos de un token ya verificado corresponden al usuario y no expiraron.
+     * Permite validar sin volver a analizar el token.
      *
-     * @param jwt el token JWT.
-     * @return la fecha de expiración.
+     * @param claims reclamos obtenidos con {@link #parseClaims(String)}.
+     * @param userDetails detalles del usuario.
+     * @return true si el token es válido, false en caso contrario.
      */
-    private Date extractExpiration(String jwt) {
-        return extractClaim(jwt, Claims::getExpiration);
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username != null && username.equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
     }
 
     /**
@@ -97,7 +110,7 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())  // Establece el nombre de usuario como sujeto del token.
                 .setIssuedAt(new Date(System.currentTimeMillis()))  // Establece la fecha de emisión.
                 .setExpiration(new Date(System.currentTimeMillis() + 3600000))  // Establece la fecha de expiración (1 hora).
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)  // Firma el token con la clave secreta y el algoritmo HS256.
+                .signWith(signInKey, SignatureAlgorithm.HS256)  // Firma el token con la clave secreta y el algoritmo HS256.
                 .compact();  // Genera el token JWT.
     }
 
@@ -110,31 +123,19 @@ public class JwtService {
      * @return el valor del reclamo extraído.
      */
     public <T> T extractClaim(String jwt, Function<Claims, T> claimsTFunction) {
-        final Claims claims = extractAllClaims(jwt);
+        final Claims claims = parseClaims(jwt);
         return claimsTFunction.apply(claims);
     }
 
     /**
-     * Extrae todos los reclamos (claims) del token JWT.
+     * Verifica la firma del token JWT y extrae todos sus reclamos (claims) en un único análisis.
      *
      * @param jwt el token JWT.
      * @return los reclamos extraídos del token.
+     * @throws io.jsonwebtoken.ExpiredJwtException si el token expiró.
      */
-    private Claims extractAllClaims(String jwt) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())  // Establece la clave secreta para verificar la firma.
-                .build()
-                .parseClaimsJws(jwt)  // Analiza el token JWT.
+    public Claims parseClaims(String jwt) {
+        return parser.parseClaimsJws(jwt)  // Analiza el token JWT.
                 .getBody();  // Devuelve el cuerpo del token, que contiene los reclamos.
     }
-
-    /**
-     * Obtiene la clave secreta utilizada para firmar el JWT.
-     *
-     * @return la clave secreta.
-     */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);  // Decodifica la clave secreta desde base64.
-        return Keys.hmacShaKeyFor(keyBytes);  // Crea la clave de firma con el algoritmo HMAC.
-    }
 }
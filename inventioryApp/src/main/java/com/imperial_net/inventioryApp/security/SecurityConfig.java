@@ -1,5 +1,6 @@
 package com.imperial_net.inventioryApp.security;
 
+import com.imperial_net.inventioryApp.users.model.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -57,6 +58,10 @@ public class SecurityConfig {
                 // Se permite el acceso sin autenticación a las rutas de autenticación y suscripciones
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/subsciption/**").permitAll()
+                // Salud para el monitoreo; el resto de los endpoints de actuator (métricas con nombres de clases,
+                // métodos, excepciones y contadores del negocio) solo para administradores
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority(Role.ADMIN.name())
                 // Cualquier otra solicitud requiere autenticación
                 .anyRequest().authenticated()
                 .and()
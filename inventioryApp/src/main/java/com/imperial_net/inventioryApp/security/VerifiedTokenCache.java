@@ -0,0 +1,118 @@
+package com.imperial_net.inventioryApp.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché acotada de tokens JWT ya verificados.
+ * Guarda el usuario autenticado bajo el hash SHA-256 del token hasta su expiración o un TTL corto,
+ * lo que ocurra primero, para que las peticiones repetidas de una misma sesión no vuelvan a verificar
+ * la firma ni a cargar al usuario.
+ *
+ * Las entradas de un usuario se descartan cuando cambia su estado, sus datos o su contraseña.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Se incrementa en cada invalidación; evita guardar un usuario cargado antes de invalidarlo.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    public VerifiedTokenCache(@Value("${security.token-cache.max-entries:10000}") int maxEntries,
+                              @Value("${security.token-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Devuelve el usuario asociado al token si fue verificado recientemente.
+     *
+     * @param token el token JWT tal como llega en la cookie.
+     * @return el usuario autenticado, o vacío si el token no está en caché o ya venció.
+     */
+    public Optional<UserDetails> get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.principal());
+    }
+
+    /**
+     * Generación actual de la caché. Debe leerse antes de cargar al usuario y pasarse a {@link #put}.
+     *
+     * @return la generación actual.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Guarda un token verificado junto con su usuario.
+     * No guarda nada si hubo una invalidación desde {@code generation} o si la caché está llena.
+     *
+     * @param token el token JWT verificado.
+     * @param principal el usuario autenticado.
+     * @param tokenExpiration la expiración del token.
+     * @param generation la generación leída antes de cargar al usuario.
+     */
+    public void put(String token, UserDetails principal, Date tokenExpiration, long generation) {
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(now + ttlMillis, tokenExpiration.getTime());
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (entries.size() >= maxEntries) {
+                return; // Con la caché llena se verifica el token normalmente hasta que venzan entradas
+            }
+        }
+        String key = hash(token);
+        entries.put(key, new Entry(principal, expiresAt));
+        if (this.generation.get() != generation) {
+            entries.remove(key); // Se invalidó mientras se cargaba el usuario
+        }
+    }
+
+    /**
+     * Descarta todos los tokens en caché de un usuario.
+     *
+     * @param username el nombre de usuario (email).
+     */
+    public void invalidateUser(String username) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> entry.principal().getUsername().equals(username));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.imperial_net.inventioryApp.suscriptions.model;
+
+import com.imperial_net.inventioryApp.users.model.User;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entidad que lleva, por usuario y por tipo de registro, la cantidad de registros creados.
+ * Permite controlar el límite del plan FREE sin contar las filas de la tabla en cada alta.
+ * Se crea la primera vez que se controla el límite, a partir de la cantidad existente, y luego
+ * se actualiza en la misma transacción que cada alta o eliminación.
+ */
+@Entity
+@Table(name = "record_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_record_counters_user_type", columnNames = {"user_id", "record_type"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecordCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Usuario dueño de los registros.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * Tipo de registro contado.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "record_type", nullable = false, length = 20)
+    private RecordType recordType;
+
+    /**
+     * Cantidad de registros del usuario de este tipo.
+     */
+    @Column(name = "record_count", nullable = false)
+    private long recordCount;
+}
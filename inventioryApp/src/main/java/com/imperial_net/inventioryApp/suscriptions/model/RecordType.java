@@ -0,0 +1,13 @@
+package com.imperial_net.inventioryApp.suscriptions.model;
+
+/**
+ * Tipos de registro alcanzados por el límite del plan FREE.
+ */
+public enum RecordType {
+    SALE,
+    PRODUCT,
+    PURCHASE,
+    CLIENT,
+    PROVIDER,
+    EXPENSE
+}
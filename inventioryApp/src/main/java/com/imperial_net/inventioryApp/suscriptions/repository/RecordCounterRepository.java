@@ -0,0 +1,66 @@
+package com.imperial_net.inventioryApp.suscriptions.repository;
+
+import com.imperial_net.inventioryApp.suscriptions.model.RecordCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositorio JPA para la entidad {@link RecordCounter}.
+ * Las altas y bajas se resuelven con sentencias atómicas sobre la fila del contador, que queda bloqueada
+ * hasta el fin de la transacción: altas simultáneas del mismo usuario se controlan una detrás de otra.
+ */
+@Repository
+public interface RecordCounterRepository extends JpaRepository<RecordCounter, Long> {
+
+    /**
+     * Suma un registro al contador solo si no alcanzó el límite.
+     *
+     * @param userId     ID del usuario.
+     * @param recordType tipo de registro.
+     * @param limit      cantidad máxima de registros.
+     * @return 1 si se sumó el registro; 0 si se alcanzó el límite o el contador no existe.
+     */
+    @Modifying
+    @Query(value = "UPDATE record_counters SET record_count = record_count + 1 " +
+            "WHERE user_id = :userId AND record_type = :recordType AND record_count < :limit", nativeQuery = true)
+    int incrementIfBelow(@Param("userId") Long userId, @Param("recordType") String recordType, @Param("limit") long limit);
+
+    /**
+     * Resta un registro al contador, sin bajar de cero.
+     *
+     * @param userId     ID del usuario.
+     * @param recordType tipo de registro.
+     */
+    @Modifying
+    @Query(value = "UPDATE record_counters SET record_count = record_count - 1 " +
+            "WHERE user_id = :userId AND record_type = :recordType AND record_count > 0", nativeQuery = true)
+    void decrement(@Param("userId") Long userId, @Param("recordType") String recordType);
+
+    /**
+     * Crea el contador con la cantidad indicada si todavía no existe.
+     *
+     * @param userId     ID del usuario.
+     * @param recordType tipo de registro.
+     * @param count      cantidad actual de registros.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO record_counters (user_id, record_type, record_count) " +
+            "VALUES (:userId, :recordType, :count) " +
+            "ON DUPLICATE KEY UPDATE record_count = record_count", nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId, @Param("recordType") String recordType, @Param("count") long count);
+
+    /**
+     * Obtiene la cantidad de registros contada, si el contador existe.
+     *
+     * @param userId     ID del usuario.
+     * @param recordType tipo de registro.
+     * @return la cantidad contada.
+     */
+    @Query(value = "SELECT record_count FROM record_counters WHERE user_id = :userId AND record_type = :recordType", nativeQuery = true)
+    Optional<Long> findCount(@Param("userId") Long userId, @Param("recordType") String recordType);
+}
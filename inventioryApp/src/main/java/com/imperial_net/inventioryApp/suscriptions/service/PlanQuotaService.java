@@ -0,0 +1,70 @@
+package com.imperial_net.inventioryApp.suscriptions.service;
+
+import com.imperial_net.inventioryApp.suscriptions.model.RecordType;
+import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.suscriptions.repository.RecordCounterRepository;
+import com.imperial_net.inventioryApp.users.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Servicio que controla el límite de registros del plan FREE con contadores por usuario y tipo de registro.
+ * Cada alta suma al contador con una única sentencia condicional, en la misma transacción que el alta: el control
+ * no depende de la cantidad de registros y dos altas simultáneas no pueden superar juntas el límite.
+ * Si el alta falla, la transacción se revierte y el contador vuelve a su valor.
+ *
+ * Los usuarios PRO no tienen límite y no usan contadores. El contador de un usuario FREE se inicializa
+ * la primera vez desde la cantidad de registros existente; si un usuario vuelve a FREE después de haber sido PRO,
+ * deben borrarse sus filas de {@code record_counters} para que se recalculen.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlanQuotaService {
+
+    private final RecordCounterRepository recordCounterRepository;
+
+    @Value("${plans.free.max-records:10}")
+    private long freeMaxRecords;
+
+    /**
+     * Reserva un lugar para un nuevo registro del usuario.
+     *
+     * @param user         usuario dueño del registro.
+     * @param recordType   tipo de registro a crear.
+     * @param currentCount cantidad actual de registros; se consulta solo para inicializar el contador.
+     * @return true si el registro puede crearse; false si el usuario alcanzó el límite de su plan.
+     */
+    @Transactional
+    public boolean tryRegister(User user, RecordType recordType, LongSupplier currentCount) {
+        if (user.getSubscription() != Subscription.FREE) {
+            return true;
+        }
+        Long userId = user.getId();
+        String type = recordType.name();
+        if (recordCounterRepository.incrementIfBelow(userId, type, freeMaxRecords) == 1) {
+            return true;
+        }
+        if (recordCounterRepository.findCount(userId, type).isPresent()) {
+            return false; // Límite alcanzado
+        }
+        recordCounterRepository.insertIfAbsent(userId, type, currentCount.getAsLong());
+        return recordCounterRepository.incrementIfBelow(userId, type, freeMaxRecords) == 1;
+    }
+
+    /**
+     * Libera el lugar de un registro eliminado.
+     *
+     * @param user       usuario dueño del registro.
+     * @param recordType tipo de registro eliminado.
+     */
+    @Transactional
+    public void unregister(User user, RecordType recordType) {
+        if (user.getSubscription() == Subscription.FREE) {
+            recordCounterRepository.decrement(user.getId(), recordType.name());
+        }
+    }
+}
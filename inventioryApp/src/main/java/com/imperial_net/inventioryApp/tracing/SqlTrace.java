@@ -0,0 +1,167 @@
+package com.imperial_net.inventioryApp.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Traza de las sentencias SQL ejecutadas durante una petición HTTP: cantidad, tiempo total en la base
+ * y las sentencias más lentas. La traza activa se guarda por hilo y se propaga a las tareas asíncronas
+ * con {@link #wrap(Runnable)}, por lo que es segura para usar desde varios hilos a la vez.
+ */
+public final class SqlTrace {
+
+    private static final ThreadLocal<SqlTrace> CURRENT = new ThreadLocal<>();
+
+    // Última sentencia preparada en el hilo; se asocia al tiempo medido cuando termina su ejecución
+    private static final ThreadLocal<String> PENDING_SQL = new ThreadLocal<>();
+
+    private final int slowestKept;
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong dbNanos = new AtomicLong();
+    private final PriorityQueue<TracedStatement> slowest = new PriorityQueue<>(Comparator.comparingLong(TracedStatement::nanos));
+    private volatile String tenant;
+
+    private SqlTrace(int slowestKept) {
+        this.slowestKept = slowestKept;
+    }
+
+    /**
+     * Inicia una traza en el hilo actual.
+     *
+     * @param slowestKept cantidad de sentencias más lentas a conservar.
+     * @return la traza iniciada.
+     */
+    public static SqlTrace begin(int slowestKept) {
+        SqlTrace trace = new SqlTrace(slowestKept);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Termina la traza del hilo actual.
+     */
+    public static void end() {
+        CURRENT.remove();
+        PENDING_SQL.remove();
+    }
+
+    /**
+     * Traza activa en el hilo actual, o null si no hay una petición trazada.
+     */
+    public static SqlTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Envuelve una tarea para que se ejecute con la traza del hilo que la crea.
+     * Se usa como {@code TaskDecorator} de los ejecutores que trabajan para una petición.
+     *
+     * @param task tarea a ejecutar.
+     * @return la tarea con la traza propagada.
+     */
+    public static Runnable wrap(Runnable task) {
+        SqlTrace captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            SqlTrace previous = CURRENT.get();
+            String previousSql = PENDING_SQL.get();
+            CURRENT.set(captured);
+            PENDING_SQL.remove();
+            try {
+                task.run();
+            } finally {
+                // El hilo del ejecutor se reutiliza: no debe quedar nada de la tarea en sus variables
+                restore(CURRENT, previous);
+                restore(PENDING_SQL, previousSql);
+            }
+        };
+    }
+
+    private static <T> void restore(ThreadLocal<T> variable, T previous) {
+        if (previous == null) {
+            variable.remove();
+        } else {
+            variable.set(previous);
+        }
+    }
+
+    /**
+     * Registra la sentencia que se está por ejecutar en el hilo actual.
+     */
+    static void prepared(String sql) {
+        if (CURRENT.get() != null) {
+            PENDING_SQL.set(sql);
+        }
+    }
+
+    /**
+     * Registra la ejecución de la última sentencia preparada en el hilo actual.
+     *
+     * @param nanos duración de la ejecución.
+     */
+    static void executed(long nanos) {
+        SqlTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.record(PENDING_SQL.get(), nanos);
+        }
+    }
+
+    void record(String sql, long nanos) {
+        statements.incrementAndGet();
+        dbNanos.addAndGet(nanos);
+        synchronized (slowest) {
+            slowest.add(new TracedStatement(sql != null ? sql : "?", nanos));
+            if (slowest.size() > slowestKept) {
+                slowest.poll(); // Descarta la más rápida
+            }
+        }
+    }
+
+    /**
+     * Asocia la traza al negocio (usuario) autenticado de la petición.
+     */
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getDbMillis() {
+        return dbNanos.get() / 1_000_000;
+    }
+
+    /**
+     * Sentencias más lentas de la petición, de la más lenta a la más rápida.
+     */
+    public List<TracedStatement> getSlowest() {
+        List<TracedStatement> copy;
+        synchronized (slowest) {
+            copy = new ArrayList<>(slowest);
+        }
+        copy.sort(Comparator.comparingLong(TracedStatement::nanos).reversed());
+        return copy;
+    }
+
+    /**
+     * Sentencia ejecutada y su duración.
+     */
+    public record TracedStatement(String sql, long nanos) {
+
+        @Override
+        public String toString() {
+            return String.format("%.1fms %s", nanos / 1_000_000.0, sql);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.imperial_net.inventioryApp.tracing;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra en Hibernate los componentes que alimentan la traza SQL de cada petición:
+ * el inspector que toma el texto de las sentencias y el listener que mide sus ejecuciones.
+ */
+@Configuration
+public class SqlTraceConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlTraceHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlTraceStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTraceSessionListener.class.getName());
+        };
+    }
+}
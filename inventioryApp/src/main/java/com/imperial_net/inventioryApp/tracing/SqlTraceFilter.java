@@ -0,0 +1,75 @@
+package com.imperial_net.inventioryApp.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Traza las sentencias SQL de cada petición HTTP y registra una advertencia cuando la petición supera
+ * el presupuesto configurado de sentencias, de tiempo en la base o de duración total.
+ * Se ejecuta antes de la cadena de seguridad, por lo que incluye las consultas del filtro de autenticación.
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class SqlTraceFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int maxStatements;
+    private final long maxDbTimeMs;
+    private final long slowRequestMs;
+    private final int slowestKept;
+
+    public SqlTraceFilter(@Value("${tracing.sql.enabled:true}") boolean enabled,
+                          @Value("${tracing.sql.max-statements:30}") int maxStatements,
+                          @Value("${tracing.sql.max-db-time-ms:300}") long maxDbTimeMs,
+                          @Value("${tracing.request.slow-ms:1000}") long slowRequestMs,
+                          @Value("${tracing.sql.slowest-statements:3}") int slowestKept) {
+        this.enabled = enabled;
+        this.maxStatements = maxStatements;
+        this.maxDbTimeMs = maxDbTimeMs;
+        this.slowRequestMs = slowRequestMs;
+        this.slowestKept = slowestKept;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlTrace trace = SqlTrace.begin(slowestKept);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlTrace.end();
+            long requestMs = (System.nanoTime() - start) / 1_000_000;
+            if (trace.getStatements() > maxStatements || trace.getDbMillis() > maxDbTimeMs || requestMs > slowRequestMs) {
+                log.warn("Petición fuera de presupuesto: endpoint=\"{} {}\" tenant={} status={} statements={} dbTimeMs={} requestMs={} slowest={}",
+                        request.getMethod(), endpoint(request), trace.getTenant(), response.getStatus(),
+                        trace.getStatements(), trace.getDbMillis(), requestMs, trace.getSlowest());
+            }
+        }
+    }
+
+    /**
+     * Ruta del controlador que atendió la petición (por ejemplo {@code /sales/{id}}), o la URI si no hubo uno.
+     */
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+}
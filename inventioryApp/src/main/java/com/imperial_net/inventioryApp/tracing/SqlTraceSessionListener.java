@@ -0,0 +1,32 @@
+package com.imperial_net.inventioryApp.tracing;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Mide cada ejecución JDBC de una sesión de Hibernate (consultas, sentencias y lotes) y la registra
+ * en la traza de la petición. Hibernate crea una instancia por sesión, que siempre la usa un solo hilo.
+ */
+public class SqlTraceSessionListener extends BaseSessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlTrace.executed(System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlTrace.executed(System.nanoTime() - executionStart);
+    }
+}
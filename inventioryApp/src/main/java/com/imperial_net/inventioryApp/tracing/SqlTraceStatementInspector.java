@@ -0,0 +1,16 @@
+package com.imperial_net.inventioryApp.tracing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Toma el texto de cada sentencia que Hibernate prepara para asociarlo a la traza de la petición.
+ * No modifica la sentencia.
+ */
+public class SqlTraceStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlTrace.prepared(sql);
+        return sql;
+    }
+}
@@ -124,6 +124,13 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Subscription subscription;
 
+    /**
+     * Indica si los resúmenes diarios del usuario ya se generaron a partir de sus registros.
+     * Es null en los usuarios existentes antes de los resúmenes, hasta que {@code DailySummaryBackfill} los genera.
+     */
+    @Column(name = "daily_summaries_ready")
+    private Boolean dailySummariesReady;
+
     /**
      * Método que se ejecuta antes de persistir el usuario en la base de datos.
      * Asigna la fecha actual a la propiedad `registrationDate` cuando se crea el usuario.
@@ -131,6 +138,7 @@ public class User implements UserDetails {
     @PrePersist
     protected void onCreate() {
         this.registrationDate = LocalDate.now();
+        this.dailySummariesReady = true; // Un usuario nuevo no tiene registros anteriores a los resúmenes
     }
 
     /**
@@ -2,8 +2,12 @@ package com.imperial_net.inventioryApp.users.repository;
 
 import com.imperial_net.inventioryApp.users.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -31,4 +35,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
      *         o vacío si no se encuentra.
      */
     Optional<User> findByDocumentNumber(String documentNumber);
+
+    /**
+     * Obtiene los IDs de los usuarios cuyos resúmenes diarios todavía no se generaron.
+     *
+     * @return IDs de los usuarios pendientes.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.dailySummariesReady IS NULL")
+    List<Long> findIdsWithoutDailySummaries();
+
+    /**
+     * Marca los resúmenes diarios del usuario como generados.
+     *
+     * @param userId ID del usuario.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.dailySummariesReady = true WHERE u.id = :userId")
+    void markDailySummariesReady(@Param("userId") Long userId);
 }
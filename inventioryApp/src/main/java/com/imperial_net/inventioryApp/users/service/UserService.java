@@ -6,6 +6,8 @@ import com.imperial_net.inventioryApp.email.service.EmailService;
 import com.imperial_net.inventioryApp.users.dto.UserDTO;
 import com.imperial_net.inventioryApp.users.dto.UserRequestDTO;
 import com.imperial_net.inventioryApp.exceptions.UserRegisterException;
+import com.imperial_net.inventioryApp.security.VerifiedTokenCache;
+import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
 import com.imperial_net.inventioryApp.users.model.ResetToken;
 import com.imperial_net.inventioryApp.users.model.Role;
 import com.imperial_net.inventioryApp.users.model.User;
@@ -36,6 +38,7 @@ public class UserService {
     private final CookieService cookieService;
     private final ResetTokenRepository resetTokenRepository;
     private final EmailService emailService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     /**
      * Inserta un usuario administrador si no existe previamente.
@@ -55,6 +58,7 @@ public class UserService {
                     .password(passwordEncoder.encode("admin"))
                     .role(Role.ADMIN)
                     .enabled(true)
+                    .subscription(Subscription.PRO) // La columna no admite nulos en una base nueva
                     .build();
             userRepository.save(admin);
         }
@@ -145,6 +149,7 @@ public class UserService {
             throw new UserRegisterException("Usuario no encontrado en la base de datos");
         }
         User user = optionalUser.get();
+        String previousEmail = user.getEmail();
 
         // Verifica si el email o DNI ya están en uso por otro usuario
         if (userRepository.findByEmail(userRequest.getEmail())
@@ -170,6 +175,7 @@ public class UserService {
         user.setEnabled("ACTIVO".equals(userRequest.getState()));
 
         userRepository.save(user);
+        verifiedTokenCache.invalidateUser(previousEmail); // Las sesiones abiertas vuelven a cargar al usuario
     }
 
     /**
@@ -190,6 +196,7 @@ public class UserService {
         }
         user.setEnabled("ACTIVO".equals(newState));
         userRepository.save(user);
+        verifiedTokenCache.invalidateUser(user.getEmail());
     }
 
     /**
@@ -216,6 +223,7 @@ public class UserService {
         }
         user.setPassword(passwordEncoder.encode(changePasswordDTO.getNewPassword()));
         userRepository.save(user);
+        verifiedTokenCache.invalidateUser(user.getEmail());
     }
 
     /**
@@ -272,5 +280,6 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
         resetTokenRepository.delete(resetToken);
+        verifiedTokenCache.invalidateUser(user.getEmail());
     }
 }
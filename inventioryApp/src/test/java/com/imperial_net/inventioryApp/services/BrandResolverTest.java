@@ -0,0 +1,140 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.products.models.Brand;
+import com.imperial_net.inventioryApp.products.repository.BrandRepository;
+import com.imperial_net.inventioryApp.products.service.BrandResolver;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la resolución de marcas: altas concurrentes de la misma marca, marcas conocidas sin consultar
+ * la base y resolución masiva con una consulta para las existentes. Cada resolución corre en la transacción
+ * de quien la pide, como al registrar un producto.
+ * La base embebida corre en modo MySQL para soportar el alta nativa.
+ */
+@ServiceSliceTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:brands;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada alta confirma su propia transacción
+class BrandResolverTest {
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void resolve_ShouldCreateBrandOnce_WhenRequestedConcurrently() throws Exception {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                // Cada hilo usa su propio resolvedor para que todos lleguen a la base
+                BrandResolver resolver = new BrandResolver(brandRepository);
+                Callable<Long> task = () -> {
+                    start.await();
+                    return inTransaction(() -> resolver.resolve("Concurrente")).getId();
+                };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+
+            Set<Long> ids = results.stream().map(this::get).collect(Collectors.toSet());
+            assertEquals(1, ids.size());
+            assertEquals(1, brandRepository.findByNameIn(List.of("Concurrente")).size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void resolve_ShouldNotQueryDatabase_ForKnownBrand() {
+        BrandResolver resolver = new BrandResolver(brandRepository);
+        Brand first = inTransaction(() -> resolver.resolve("Conocida"));
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        Brand second = resolver.resolve("Conocida");
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void resolveAll_ShouldLoadExistingBrandsInOneQuery() {
+        List<String> names = IntStream.range(0, 50).mapToObj(i -> "Masiva " + i).toList();
+        names.forEach(name -> brandRepository.save(new Brand(null, name)));
+
+        BrandResolver resolver = new BrandResolver(brandRepository);
+        Statistics statistics = statistics();
+        statistics.clear();
+        Map<String, Brand> brands = inTransaction(() -> resolver.resolveAll(names));
+
+        assertEquals(50, brands.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void resolve_ShouldNotRememberBrand_WhenTransactionRollsBack() {
+        BrandResolver resolver = new BrandResolver(brandRepository);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long discardedId = transaction.execute(status -> {
+            status.setRollbackOnly();
+            return resolver.resolve("Descartada").getId();
+        });
+
+        Brand brand = inTransaction(() -> resolver.resolve("Descartada"));
+
+        assertNotEquals(discardedId, brand.getId());
+        assertTrue(brandRepository.existsById(brand.getId()));
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private Long get(Future<Long> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
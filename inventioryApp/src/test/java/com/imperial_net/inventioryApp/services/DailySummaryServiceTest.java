@@ -0,0 +1,137 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.expenses.model.Expense;
+import com.imperial_net.inventioryApp.expenses.repository.ExpenseRepository;
+import com.imperial_net.inventioryApp.reports.dto.PeriodTotalsDTO;
+import com.imperial_net.inventioryApp.reports.repository.DailySummaryRepository;
+import com.imperial_net.inventioryApp.reports.service.DailySummaryService;
+import com.imperial_net.inventioryApp.sales.model.PaymentMethod;
+import com.imperial_net.inventioryApp.sales.model.Sale;
+import com.imperial_net.inventioryApp.sales.model.SaleStatus;
+import com.imperial_net.inventioryApp.sales.repository.SaleRepository;
+import com.imperial_net.inventioryApp.users.model.User;
+import com.imperial_net.inventioryApp.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de los resúmenes diarios: el mantenimiento incremental y la reconstrucción deben dar los mismos totales,
+ * y la carga inicial solo procesa a los usuarios que todavía no tienen resúmenes.
+ * La base embebida corre en modo MySQL para soportar el upsert nativo.
+ */
+@ServiceSliceTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:summaries;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class DailySummaryServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private DailySummaryService dailySummaryService;
+
+    @Autowired
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(TestUsers.user("30111333"));
+    }
+
+    @Test
+    void incrementalUpdates_ShouldMatchRebuild() {
+        Sale first = saleRepository.save(sale("100.00", "60.00"));
+        dailySummaryService.recordSale(first);
+        Sale second = saleRepository.save(sale("50.00", "20.00"));
+        dailySummaryService.recordSale(second);
+        Expense expense = expenseRepository.save(expense(30.0));
+        dailySummaryService.recordExpense(expense);
+
+        // Se anula la segunda venta
+        dailySummaryService.reverseSale(second);
+        second.setStatus(SaleStatus.CANCELED);
+
+        PeriodTotalsDTO incremental = dailySummaryRepository.sumBetween(user.getId(), TODAY, TODAY);
+
+        assertEquals(0, incremental.getIncome().compareTo(new BigDecimal("100.00")));
+        assertEquals(0, incremental.getProductCost().compareTo(new BigDecimal("60.00")));
+        assertEquals(0, incremental.getExpenseTotal().compareTo(new BigDecimal("30.00")));
+        assertEquals(1L, incremental.getSaleCount());
+
+        dailySummaryService.rebuild(user.getId());
+        PeriodTotalsDTO rebuilt = dailySummaryRepository.sumBetween(user.getId(), TODAY, TODAY);
+
+        assertEquals(0, rebuilt.getIncome().compareTo(incremental.getIncome()));
+        assertEquals(0, rebuilt.getProductCost().compareTo(incremental.getProductCost()));
+        assertEquals(0, rebuilt.getExpenseTotal().compareTo(incremental.getExpenseTotal()));
+        assertEquals(incremental.getSaleCount(), rebuilt.getSaleCount());
+        assertEquals(1, dailySummaryRepository.count()); // una sola fila por usuario y día
+    }
+
+    @Test
+    void rebuildPending_ShouldProcessOnlyUsersWithoutSummaries() {
+        saleRepository.save(sale("80.00", "50.00")); // Venta anterior a los resúmenes: no se informó
+        jdbcTemplate.update("UPDATE usuarios SET daily_summaries_ready = NULL WHERE id = ?", user.getId());
+
+        assertEquals(1, dailySummaryService.rebuildPending());
+        PeriodTotalsDTO totals = dailySummaryRepository.sumBetween(user.getId(), TODAY, TODAY);
+        assertEquals(0, totals.getIncome().compareTo(new BigDecimal("80.00")));
+
+        // Ya marcado: un nuevo arranque no lo vuelve a procesar
+        assertEquals(0, dailySummaryService.rebuildPending());
+    }
+
+    @Test
+    void sumBetween_ShouldReturnZeros_WhenNoActivity() {
+        PeriodTotalsDTO totals = dailySummaryRepository.sumBetween(user.getId(), TODAY.minusYears(1), TODAY);
+
+        assertEquals(0, totals.getIncome().compareTo(BigDecimal.ZERO));
+        assertEquals(0L, totals.getSaleCount());
+    }
+
+    private Sale sale(String total, String cost) {
+        Sale sale = new Sale();
+        sale.setUser(user);
+        sale.setPaymentMethod(PaymentMethod.values()[0]);
+        sale.setStatus(SaleStatus.CONFIRMED);
+        sale.setSaleDetails(new ArrayList<>());
+        sale.setTotalSale(new BigDecimal(total));
+        sale.setTotalCost(new BigDecimal(cost));
+        sale.setGrossProfit(sale.getTotalSale().subtract(sale.getTotalCost()));
+        sale.setNetProfit(sale.getGrossProfit());
+        return sale;
+    }
+
+    private Expense expense(double amount) {
+        Expense expense = new Expense();
+        expense.setDate(TODAY);
+        expense.setExpenseType("Servicios");
+        expense.setAmount(amount);
+        expense.setPaymentMethod("Efectivo");
+        expense.setCreatedBy(user);
+        return expense;
+    }
+}
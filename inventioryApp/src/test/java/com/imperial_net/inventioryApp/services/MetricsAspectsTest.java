@@ -0,0 +1,69 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.metrics.InventoryMetricsAspect;
+import com.imperial_net.inventioryApp.metrics.TimingAspect;
+import com.imperial_net.inventioryApp.products.service.StockReservationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricsAspectsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void tryReserve_ShouldCountOnlyRejections() {
+        StockReservationService target = mock(StockReservationService.class);
+        when(target.tryReserve(eq(1L), any())).thenReturn(true);
+        when(target.tryReserve(eq(2L), any())).thenReturn(false);
+
+        StockReservationService proxy = proxy(target, new InventoryMetricsAspect(registry));
+        proxy.tryReserve(1L, BigDecimal.ONE);
+        proxy.tryReserve(2L, BigDecimal.ONE);
+        proxy.tryReserve(2L, BigDecimal.TEN);
+
+        assertEquals(2, registry.get(InventoryMetricsAspect.STOCK_REJECTIONS).counter().count());
+        assertEquals(0, registry.get(InventoryMetricsAspect.SALES_REGISTERED).counter().count());
+    }
+
+    @Test
+    void serviceCall_ShouldBeTimedWithClassMethodAndException() {
+        SampleService proxy = proxy(new SampleService(), new TimingAspect(registry));
+
+        proxy.work();
+        assertThrows(IllegalStateException.class, proxy::fail);
+
+        assertEquals(1, registry.get(TimingAspect.SERVICE_TIMER)
+                .tags("class", "SampleService", "method", "work", "exception", "none").timer().count());
+        assertEquals(1, registry.get(TimingAspect.SERVICE_TIMER)
+                .tags("method", "fail", "exception", "IllegalStateException").timer().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target, Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+
+    @Service
+    static class SampleService {
+        public String work() {
+            return "ok";
+        }
+
+        public void fail() {
+            throw new IllegalStateException("falla");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imperial_net.inventioryApp.export.NdjsonExporter;
+import com.imperial_net.inventioryApp.products.models.Product;
+import com.imperial_net.inventioryApp.products.repository.ProductRepository;
+import com.imperial_net.inventioryApp.sales.model.PaymentMethod;
+import com.imperial_net.inventioryApp.sales.model.Sale;
+import com.imperial_net.inventioryApp.sales.model.SaleDetail;
+import com.imperial_net.inventioryApp.sales.model.SaleStatus;
+import com.imperial_net.inventioryApp.sales.repository.SaleRepository;
+import com.imperial_net.inventioryApp.users.model.User;
+import com.imperial_net.inventioryApp.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba la exportación NDJSON de ventas leídas con cursor, con más filas que el intervalo de limpieza
+ * del contexto de persistencia, para verificar que ninguna venta se pierde ni se repite.
+ */
+@ServiceSliceTest
+class NdjsonExporterTest {
+
+    private static final int SALES = 600; // supera el intervalo de limpieza del exportador
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void write_ShouldStreamEverySaleOnceWithItsDetails() throws Exception {
+        User user = userRepository.save(TestUsers.user("30111444"));
+
+        Product product = new Product();
+        product.setCode("P-1");
+        product.setName("Producto exportado");
+        product.setSalePrice(BigDecimal.TEN);
+        product.setMinStock(BigDecimal.ONE);
+        product.setRegistratedBy(user);
+        product = productRepository.save(product);
+
+        List<Sale> sales = new ArrayList<>();
+        for (int i = 0; i < SALES; i++) {
+            sales.add(sale(user, product));
+        }
+        saleRepository.saveAll(sales);
+        entityManager.flush();
+        entityManager.clear();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long written = ndjsonExporter.write(response, "ventas.ndjson",
+                saleRepository.streamForExport(user.getId(), null, null),
+                sale -> Map.of("id", sale.getId(), "details", sale.getSaleDetails().size()));
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(SALES, written);
+        assertEquals(SALES, lines.length);
+        assertEquals(NdjsonExporter.MEDIA_TYPE, response.getContentType().split(";")[0]);
+
+        long previousId = 0;
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            assertEquals(2, node.get("details").asInt()); // la colección llega completa aun tras limpiar el contexto
+            assertTrue(node.get("id").asLong() > previousId); // sin repetidos y en orden
+            previousId = node.get("id").asLong();
+        }
+    }
+
+    private Sale sale(User user, Product product) {
+        Sale sale = new Sale();
+        sale.setUser(user);
+        sale.setPaymentMethod(PaymentMethod.values()[0]);
+        sale.setStatus(SaleStatus.CONFIRMED);
+        sale.setTotalSale(new BigDecimal("20.00"));
+        sale.setTotalCost(new BigDecimal("10.00"));
+        sale.setGrossProfit(new BigDecimal("10.00"));
+        sale.setNetProfit(new BigDecimal("10.00"));
+        sale.setSaleDetails(new ArrayList<>(List.of(detail(sale, product), detail(sale, product))));
+        return sale;
+    }
+
+    private SaleDetail detail(Sale sale, Product product) {
+        SaleDetail detail = new SaleDetail();
+        detail.setSale(sale);
+        detail.setProduct(product);
+        detail.setQuantity(BigDecimal.ONE);
+        detail.setSalePrice(BigDecimal.TEN);
+        detail.setSubtotal(BigDecimal.TEN);
+        detail.setCostPrice(new BigDecimal("5.00"));
+        return detail;
+    }
+}
@@ -0,0 +1,115 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.suscriptions.model.RecordType;
+import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.suscriptions.repository.RecordCounterRepository;
+import com.imperial_net.inventioryApp.suscriptions.service.PlanQuotaService;
+import com.imperial_net.inventioryApp.users.model.User;
+import com.imperial_net.inventioryApp.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del límite de registros del plan FREE: inicialización del contador desde la cantidad existente,
+ * altas simultáneas que no superan el límite y usuarios PRO sin contador.
+ * La base embebida corre en modo MySQL para soportar el alta nativa del contador.
+ */
+@ServiceSliceTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:quotas;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "plans.free.max-records=10"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada alta confirma su propia transacción
+class PlanQuotaServiceTest {
+
+    @Autowired
+    private PlanQuotaService planQuotaService;
+
+    @Autowired
+    private RecordCounterRepository recordCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void tryRegister_ShouldSeedCounterFromExistingRecords() {
+        User user = user("30000001", Subscription.FREE);
+
+        assertTrue(planQuotaService.tryRegister(user, RecordType.CLIENT, () -> 9));
+        assertFalse(planQuotaService.tryRegister(user, RecordType.CLIENT, () -> fail("El contador ya existe")));
+        assertEquals(10L, recordCounterRepository.findCount(user.getId(), RecordType.CLIENT.name()).orElseThrow());
+
+        // Cada tipo de registro tiene su propio contador
+        assertTrue(planQuotaService.tryRegister(user, RecordType.PROVIDER, () -> 0));
+    }
+
+    @Test
+    void unregister_ShouldFreeAPlace() {
+        User user = user("30000002", Subscription.FREE);
+        assertTrue(planQuotaService.tryRegister(user, RecordType.EXPENSE, () -> 9));
+        assertFalse(planQuotaService.tryRegister(user, RecordType.EXPENSE, () -> 10));
+
+        planQuotaService.unregister(user, RecordType.EXPENSE);
+
+        assertTrue(planQuotaService.tryRegister(user, RecordType.EXPENSE, () -> 9));
+    }
+
+    @Test
+    void tryRegister_ShouldNotExceedLimit_WhenCalledConcurrently() throws Exception {
+        User user = user("30000003", Subscription.FREE);
+        assertTrue(planQuotaService.tryRegister(user, RecordType.SALE, () -> 0));
+
+        int threads = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<Boolean> task = () -> {
+                    start.await();
+                    return planQuotaService.tryRegister(user, RecordType.SALE, () -> 1);
+                };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+
+            long accepted = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    accepted++;
+                }
+            }
+            assertEquals(9, accepted);
+            assertEquals(10L, recordCounterRepository.findCount(user.getId(), RecordType.SALE.name()).orElseThrow());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void tryRegister_ShouldNotUseCounter_ForProUser() {
+        User user = user("30000004", Subscription.PRO);
+
+        assertTrue(planQuotaService.tryRegister(user, RecordType.PRODUCT, () -> fail("No debe contar registros")));
+        assertTrue(recordCounterRepository.findCount(user.getId(), RecordType.PRODUCT.name()).isEmpty());
+    }
+
+    private User user(String documentNumber, Subscription subscription) {
+        return userRepository.save(TestUsers.user(documentNumber, subscription));
+    }
+}
@@ -0,0 +1,87 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.products.dto.ProductResponseDTO;
+import com.imperial_net.inventioryApp.products.service.ProductCatalogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCatalogCacheTest {
+
+    private ProductCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCatalogCache(2, 60);
+    }
+
+    @Test
+    void get_ShouldReturnCatalog_OnlyForItsTenant() {
+        cache.put(1L, List.of(product(10L)), cache.generation(1L));
+
+        assertEquals(10L, cache.get(1L).orElseThrow().get(0).getId());
+        assertTrue(cache.get(2L).isEmpty());
+    }
+
+    @Test
+    void invalidateProduct_ShouldDropOwnerCatalogAndRejectStalePut() {
+        long generation = cache.generation(1L);
+        cache.put(1L, List.of(product(10L)), generation);
+        cache.put(2L, List.of(product(20L)), cache.generation(2L));
+
+        cache.invalidateProduct(10L);
+        assertTrue(cache.get(1L).isEmpty());
+        assertTrue(cache.get(2L).isPresent());
+
+        // Un catálogo leído antes de la invalidación no debe volver a la caché
+        cache.put(1L, List.of(product(10L)), generation);
+        assertTrue(cache.get(1L).isEmpty());
+    }
+
+    @Test
+    void invalidateProduct_ShouldRejectInFlightPuts_WhenOwnerIsUnknown() {
+        long generation = cache.generation(1L);
+
+        cache.invalidateProduct(99L); // Producto nuevo, todavía en ningún catálogo
+
+        cache.put(1L, List.of(product(99L)), generation);
+        assertTrue(cache.get(1L).isEmpty());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedTenant_WhenFull() throws InterruptedException {
+        cache.put(1L, List.of(product(10L)), cache.generation(1L));
+        Thread.sleep(5);
+        cache.put(2L, List.of(product(20L)), cache.generation(2L));
+        Thread.sleep(5);
+        cache.get(1L);
+
+        cache.put(3L, List.of(product(30L)), cache.generation(3L));
+
+        assertTrue(cache.get(1L).isPresent());
+        assertTrue(cache.get(2L).isEmpty());
+        assertTrue(cache.get(3L).isPresent());
+    }
+
+    @Test
+    void put_ShouldForgetOwnerOfEvictedTenantProducts() {
+        cache.put(1L, List.of(product(10L)), cache.generation(1L));
+        cache.put(2L, List.of(product(20L)), cache.generation(2L));
+        cache.put(3L, List.of(product(30L)), cache.generation(3L)); // Descarta al negocio 1
+        long generation = cache.generation(2L);
+
+        cache.invalidateProduct(10L); // Ya sin dueño conocido: invalida las lecturas en curso de todos
+
+        assertNotEquals(generation, cache.generation(2L));
+        assertTrue(cache.get(2L).isPresent());
+    }
+
+    private static ProductResponseDTO product(Long id) {
+        ProductResponseDTO dto = new ProductResponseDTO();
+        dto.setId(id);
+        return dto;
+    }
+}
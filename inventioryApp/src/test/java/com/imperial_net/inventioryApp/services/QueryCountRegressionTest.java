@@ -0,0 +1,282 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.auth.service.CookieService;
+import com.imperial_net.inventioryApp.clients.models.Client;
+import com.imperial_net.inventioryApp.dashboard.service.DashboarService;
+import com.imperial_net.inventioryApp.expenses.model.Expense;
+import com.imperial_net.inventioryApp.products.models.Brand;
+import com.imperial_net.inventioryApp.products.models.Product;
+import com.imperial_net.inventioryApp.products.service.ProductService;
+import com.imperial_net.inventioryApp.providers.model.Provider;
+import com.imperial_net.inventioryApp.purchases.model.Purchase;
+import com.imperial_net.inventioryApp.reports.service.DailySummaryService;
+import com.imperial_net.inventioryApp.reports.service.ReportService;
+import com.imperial_net.inventioryApp.sales.model.PaymentMethod;
+import com.imperial_net.inventioryApp.sales.model.Sale;
+import com.imperial_net.inventioryApp.sales.model.SaleDetail;
+import com.imperial_net.inventioryApp.sales.model.SaleStatus;
+import com.imperial_net.inventioryApp.sales.service.SaleDetailService;
+import com.imperial_net.inventioryApp.sales.service.SaleService;
+import com.imperial_net.inventioryApp.users.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Arnés de regresión de consultas: ejecuta los caminos más usados de los servicios contra una base embebida
+ * con datos de dos tamaños y compara las estadísticas de Hibernate.
+ * Falla si la cantidad de sentencias o de colecciones cargadas crece con el volumen de datos (patrón N+1).
+ * Para cubrir un camino nuevo alcanza con agregarlo en {@link #hotPaths()}.
+ */
+@ServiceSliceTest
+@Import({DashboarService.class, QueryCountRegressionTest.InlineExecutorConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class QueryCountRegressionTest {
+
+    private static final int SMALL = 3;
+    private static final int LARGE = 30;
+    private static final int DETAILS_PER_SALE = 2;
+
+    @Autowired
+    private CookieService cookieService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private SaleDetailService saleDetailService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private DailySummaryService dailySummaryService;
+
+    @Autowired
+    private DashboarService dashboarService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Caminos medidos. Cada uno recibe el usuario sembrado y una venta suya.
+     */
+    private Map<String, Function<Seed, Object>> hotPaths() {
+        YearMonth month = YearMonth.now();
+        Map<String, Function<Seed, Object>> paths = new LinkedHashMap<>();
+        paths.put("SaleService.getAllSales", seed -> saleService.getAllSales(request()));
+        paths.put("SaleService.getSalesPage", seed -> saleService.getSalesPage(request(), null, 100));
+        paths.put("SaleService.getSaleById", seed -> saleService.getSaleById(seed.sale().getId()));
+        paths.put("SaleDetailService.getAllSaleDetails", seed -> saleDetailService.getAllSaleDetails());
+        paths.put("SaleDetailService.getSaleDetailsBySale", seed -> saleDetailService.getSaleDetailsBySale(seed.sale().getId()));
+        paths.put("SaleDetailService.getSaleDetailsByProduct", seed -> saleDetailService.getSaleDetailsByProduct(seed.sale().getSaleDetails().get(0).getProduct().getId()));
+        paths.put("ProductService.findLowStockProducts", seed -> productService.findLowStockProducts(seed.user().getId()));
+        paths.put("ReportService.getMonthlyIncome", seed -> reportService.getMonthlyIncome(month, request()));
+        paths.put("ReportService.getProfitabilityByYear", seed -> reportService.getProfitabilityByYear(month.getYear(), request()));
+        paths.put("ReportService.getTopSellingProducts", seed -> reportService.getTopSellingProducts(month, request()));
+        paths.put("ReportService.getTopCustomersForMonth", seed -> reportService.getTopCustomersForMonth(month, request()));
+        paths.put("DashboarService.getDashboardData", seed -> dashboarService.getDashboardData(request()));
+        return paths;
+    }
+
+    @Test
+    void hotPaths_ShouldNotIssueMoreQueries_WhenDataGrows() {
+        Seed small = seed("20000001", SMALL);
+        Map<String, QueryStats> smallStats = measureAll(small);
+
+        Seed large = seed("20000002", LARGE);
+        Map<String, QueryStats> largeStats = measureAll(large);
+
+        List<String> regressions = new ArrayList<>();
+        smallStats.forEach((path, smallRun) -> {
+            QueryStats largeRun = largeStats.get(path);
+            if (largeRun.statements() > smallRun.statements() || largeRun.collectionFetches() > smallRun.collectionFetches()) {
+                regressions.add(path + ": " + smallRun + " con " + SMALL + " ventas -> " + largeRun + " con " + LARGE + " ventas");
+            }
+        });
+
+        assertTrue(regressions.isEmpty(), "Consultas que crecen con los datos:\n" + String.join("\n", regressions));
+    }
+
+    private Map<String, QueryStats> measureAll(Seed seed) {
+        when(cookieService.getUserFromCookie(any())).thenReturn(Optional.of(seed.user()));
+        Map<String, QueryStats> stats = new LinkedHashMap<>();
+        hotPaths().forEach((path, action) -> stats.put(path, measure(() -> action.apply(seed))));
+        return stats;
+    }
+
+    private QueryStats measure(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return new QueryStats(statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(),
+                statistics.getCollectionFetchCount());
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest();
+    }
+
+    /**
+     * Siembra un usuario con {@code sales} ventas confirmadas de este mes, cada una con su cliente y
+     * {@value #DETAILS_PER_SALE} detalles de productos distintos (con marca y stock bajo), una compra por producto
+     * y un gasto por venta. Al final reconstruye sus resúmenes diarios.
+     */
+    private Seed seed(String documentNumber, int sales) {
+        User user = TestUsers.user(documentNumber);
+        entityManager.persist(user);
+
+        Provider provider = new Provider();
+        provider.setName("Proveedor " + documentNumber);
+        provider.setTaxId(documentNumber + "123");
+        provider.setCreatedBy(user);
+        entityManager.persist(provider);
+
+        Sale last = null;
+        for (int i = 0; i < sales; i++) {
+            Client client = new Client();
+            client.setName("Cliente");
+            client.setLastname(String.valueOf(i));
+            client.setDocumentNumber(documentNumber + String.format("%03d", i));
+            client.setCreatedBy(user);
+            entityManager.persist(client);
+
+            Sale sale = new Sale();
+            sale.setUser(user);
+            sale.setCustomer(client);
+            sale.setSaleDate(LocalDate.now());
+            sale.setPaymentMethod(PaymentMethod.values()[0]);
+            sale.setStatus(SaleStatus.CONFIRMED);
+            sale.setTotalSale(BigDecimal.TEN);
+            sale.setTotalCost(BigDecimal.ONE);
+            sale.setGrossProfit(BigDecimal.ONE);
+            sale.setNetProfit(BigDecimal.ONE);
+            sale.setSaleDetails(new ArrayList<>());
+            for (int d = 0; d < DETAILS_PER_SALE; d++) {
+                Product product = product(user, documentNumber + "-" + i + "-" + d);
+                purchase(user, provider, product);
+                sale.getSaleDetails().add(detail(sale, product));
+            }
+            entityManager.persist(sale);
+            expense(user);
+            last = sale;
+        }
+
+        entityManager.flush();
+        dailySummaryService.rebuild(user.getId());
+        return new Seed(user, last);
+    }
+
+    private Product product(User user, String code) {
+        Brand brand = new Brand();
+        brand.setName("Marca " + code);
+        entityManager.persist(brand);
+
+        Product product = new Product();
+        product.setCode(code);
+        product.setName("Producto " + code);
+        product.setSalePrice(BigDecimal.TEN);
+        product.setMinStock(BigDecimal.ONE); // el stock queda en 0: todos aparecen con stock bajo
+        product.setBrand(brand);
+        product.setRegistratedBy(user);
+        entityManager.persist(product);
+        return product;
+    }
+
+    private void purchase(User user, Provider provider, Product product) {
+        Purchase purchase = new Purchase();
+        purchase.setProduct(product);
+        purchase.setProvider(provider);
+        purchase.setRegistredBy(user);
+        purchase.setPurchaseDate(LocalDate.now());
+        purchase.setPurchasePrice(BigDecimal.ONE);
+        purchase.setQuantity(BigDecimal.ONE);
+        purchase.setRemainingStock(BigDecimal.ONE);
+        purchase.setState(true);
+        entityManager.persist(purchase);
+    }
+
+    private void expense(User user) {
+        Expense expense = new Expense();
+        expense.setDate(LocalDate.now());
+        expense.setExpenseType("Servicios");
+        expense.setAmount(1.0);
+        expense.setPaymentMethod("Efectivo");
+        expense.setCreatedBy(user);
+        entityManager.persist(expense);
+    }
+
+    private SaleDetail detail(Sale sale, Product product) {
+        SaleDetail detail = new SaleDetail();
+        detail.setSale(sale);
+        detail.setProduct(product);
+        detail.setQuantity(BigDecimal.ONE);
+        detail.setSalePrice(BigDecimal.TEN);
+        detail.setSubtotal(BigDecimal.TEN);
+        detail.setCostPrice(BigDecimal.ONE);
+        return detail;
+    }
+
+    private record Seed(User user, Sale sale) {
+    }
+
+    private record QueryStats(long statements, long entityLoads, long collectionFetches) {
+        @Override
+        public String toString() {
+            return statements + " sentencias, " + entityLoads + " entidades, " + collectionFetches + " colecciones";
+        }
+    }
+
+    /**
+     * Ejecuta las secciones del dashboard en el mismo hilo, dentro de la transacción de la prueba.
+     */
+    @TestConfiguration
+    static class InlineExecutorConfig {
+
+        @Bean
+        ThreadPoolTaskExecutor dashboardExecutor() {
+            return new ThreadPoolTaskExecutor() {
+                @Override
+                public void execute(Runnable task) {
+                    task.run();
+                }
+            };
+        }
+    }
+}
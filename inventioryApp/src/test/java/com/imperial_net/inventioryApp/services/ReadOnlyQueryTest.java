@@ -0,0 +1,126 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.auth.service.CookieService;
+import com.imperial_net.inventioryApp.products.service.ProductService;
+import com.imperial_net.inventioryApp.reports.dto.PeriodTotalsDTO;
+import com.imperial_net.inventioryApp.reports.repository.DailySummaryRepository;
+import com.imperial_net.inventioryApp.reports.service.DailySummaryService;
+import com.imperial_net.inventioryApp.reports.service.ReportService;
+import com.imperial_net.inventioryApp.users.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que las consultas de reportes y productos corran en una sesión de solo lectura (flush manual,
+ * sin copias del estado de las entidades) y que la reconstrucción de resúmenes siga pudiendo escribir.
+ * Los reportes por período resuelven el resultado guardado sin abrir una transacción y solo la abren para calcularlo.
+ */
+@ServiceSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadOnlyQueryTest {
+
+    @Autowired
+    private CookieService cookieService;
+
+    @MockitoBean
+    private DailySummaryService dailySummaryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @MockitoSpyBean
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<SessionState> states = new ArrayList<>();
+    private final List<Boolean> transactionsWhenResolvingUser = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // La sesión se inspecciona al resolver el usuario, ya dentro de la transacción del servicio
+        when(cookieService.getUserFromCookie(any())).thenAnswer(invocation -> {
+            states.add(currentState());
+            transactionsWhenResolvingUser.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return Optional.of(User.builder().id(1L).build());
+        });
+    }
+
+    @Test
+    void queries_ShouldRunInReadOnlySession() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        productService.getAllProductsForUser(request);
+        productService.findLowStockProducts(request);
+        reportService.getDailyIncome(LocalDate.now(), request);
+
+        assertEquals(3, states.size());
+        assertTrue(states.stream().allMatch(state -> state.equals(new SessionState(true, FlushMode.MANUAL, true))), states::toString);
+    }
+
+    @Test
+    void periodReports_ShouldOpenTransactionOnlyToCalculate() {
+        List<SessionState> calculations = new ArrayList<>();
+        doAnswer(invocation -> {
+            calculations.add(currentState());
+            return new PeriodTotalsDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0L);
+        }).when(dailySummaryRepository).sumBetween(anyLong(), any(), any());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        YearMonth closedMonth = YearMonth.now().minusMonths(2);
+
+        reportService.getMonthlyIncome(YearMonth.now(), request);
+        reportService.getMonthlyIncome(closedMonth, request);
+        reportService.getMonthlyIncome(closedMonth, request); // Guardado: no llega a la base
+
+        assertEquals(List.of(false, false, false), transactionsWhenResolvingUser);
+        // El mes abierto se calcula en solo lectura; el cerrado, que se guarda, en la base principal
+        assertEquals(List.of(true, false), calculations.stream().map(SessionState::readOnlyTransaction).toList());
+    }
+
+    @Test
+    void rebuildDailySummaries_ShouldNotBeReadOnly() {
+        doAnswer(invocation -> states.add(currentState())).when(dailySummaryService).rebuild(anyLong());
+
+        reportService.rebuildDailySummaries(new MockHttpServletRequest());
+
+        SessionState rebuild = states.get(states.size() - 1);
+        assertFalse(rebuild.readOnlyTransaction());
+        assertFalse(rebuild.defaultReadOnly());
+    }
+
+    private SessionState currentState() {
+        Session session = entityManager.unwrap(Session.class);
+        return new SessionState(TransactionSynchronizationManager.isCurrentTransactionReadOnly(),
+                session.getHibernateFlushMode(), session.isDefaultReadOnly());
+    }
+
+    private record SessionState(boolean readOnlyTransaction, FlushMode flushMode, boolean defaultReadOnly) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.config.ReadWriteDataSourceConfig;
+import com.imperial_net.inventioryApp.config.ReadWriteOpenInViewListener;
+import com.imperial_net.inventioryApp.products.models.Brand;
+import com.imperial_net.inventioryApp.products.repository.BrandRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifica con dos bases locales que las transacciones de solo lectura usen el pool de lectura
+ * y las demás el principal, también cuando una escritura sigue a una lectura en la misma sesión,
+ * y que la separación desactive Open Session in View.
+ */
+@ServiceSliceTest
+@Import(ReadWriteDataSourceConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primarydb;DB_CLOSE_DELAY=-1",
+        "app.datasource.read.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadWriteDataSourceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Test
+    void readOnlyTransaction_ShouldUseReadPool() {
+        assertEquals("REPLICADB", currentDatabase(true));
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUsePrimaryPool() {
+        assertEquals("PRIMARYDB", currentDatabase(false));
+    }
+
+    @Test
+    void writeAfterRepositoryRead_ShouldUsePrimaryPool() {
+        brandRepository.save(new Brand(null, "Leída"));
+
+        // Como un servicio transaccional: lectura del repositorio y escritura en la misma sesión
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.executeWithoutResult(status -> {
+            brandRepository.findByName("Leída").orElseThrow();
+            brandRepository.save(new Brand(null, "Escrita"));
+            assertEquals("PRIMARYDB", entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult().toString().toUpperCase());
+        });
+
+        Integer written = new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT COUNT(*) FROM brands WHERE name = 'Escrita'", Integer.class);
+        assertEquals(1, written);
+    }
+
+    @Test
+    void readWriteSplit_ShouldDisableOpenInView() {
+        MockEnvironment split = new MockEnvironment().withProperty("app.datasource.read.url", "jdbc:h2:mem:replicadb");
+        MockEnvironment single = new MockEnvironment();
+
+        ReadWriteOpenInViewListener listener = new ReadWriteOpenInViewListener();
+        listener.onApplicationEvent(new ApplicationEnvironmentPreparedEvent(new DefaultBootstrapContext(), new SpringApplication(), new String[0], split));
+        listener.onApplicationEvent(new ApplicationEnvironmentPreparedEvent(new DefaultBootstrapContext(), new SpringApplication(), new String[0], single));
+
+        assertEquals("false", split.getProperty("spring.jpa.open-in-view"));
+        assertNull(single.getProperty("spring.jpa.open-in-view"));
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status ->
+                entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult().toString().toUpperCase());
+    }
+}
@@ -0,0 +1,102 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imperial_net.inventioryApp.reports.controller.ReportsController;
+import com.imperial_net.inventioryApp.reports.dto.DailyIncomeResponse;
+import com.imperial_net.inventioryApp.reports.model.ReportType;
+import com.imperial_net.inventioryApp.reports.service.ReportResultStore;
+import com.imperial_net.inventioryApp.reports.service.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReportResultStoreTest {
+
+    private static final LocalDate CLOSED_MONTH = YearMonth.now().minusMonths(2).atDay(1);
+
+    private ReportResultStore store;
+    private AtomicInteger calculations;
+
+    @BeforeEach
+    void setUp() {
+        store = new ReportResultStore(new ObjectMapper(), 100, 3600);
+        calculations = new AtomicInteger();
+    }
+
+    @Test
+    void getOrCompute_ShouldReuseClosedPeriod() {
+        ReportResultStore.Result<DailyIncomeResponse> first = monthly(1L, CLOSED_MONTH);
+        ReportResultStore.Result<DailyIncomeResponse> second = monthly(1L, CLOSED_MONTH);
+
+        assertEquals(1, calculations.get());
+        assertEquals(first.etag(), second.etag());
+
+        // Otro negocio no comparte resultados
+        monthly(2L, CLOSED_MONTH);
+        assertEquals(2, calculations.get());
+    }
+
+    @Test
+    void getOrCompute_ShouldCalculateOpenPeriodEachTime_WithStableETag() {
+        LocalDate currentMonth = YearMonth.now().atDay(1);
+        ReportResultStore.Result<DailyIncomeResponse> first = monthly(1L, currentMonth);
+        ReportResultStore.Result<DailyIncomeResponse> second = monthly(1L, currentMonth);
+
+        assertEquals(2, calculations.get());
+        assertEquals(first.etag(), second.etag());
+    }
+
+    @Test
+    void invalidate_ShouldDropOnlyPeriodsContainingTheDate() {
+        LocalDate otherMonth = CLOSED_MONTH.minusMonths(1);
+        monthly(1L, CLOSED_MONTH);
+        monthly(1L, otherMonth);
+
+        store.invalidate(1L, CLOSED_MONTH.plusDays(3));
+
+        monthly(1L, otherMonth);
+        assertEquals(2, calculations.get());
+        monthly(1L, CLOSED_MONTH);
+        assertEquals(3, calculations.get());
+    }
+
+    @Test
+    void reportsController_ShouldAnswerNotModified_WhenETagMatches() throws Exception {
+        ReportService reportService = mock(ReportService.class);
+        ReportResultStore.Result<DailyIncomeResponse> report = monthly(1L, CLOSED_MONTH);
+        when(reportService.getMonthlyIncomeReport(eq(YearMonth.from(CLOSED_MONTH)), any())).thenReturn(report);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ReportsController(reportService)).build();
+        String month = YearMonth.from(CLOSED_MONTH).toString();
+
+        mockMvc.perform(get("/reports/monthly-income").param("month", month))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + report.etag() + "\""));
+
+        mockMvc.perform(get("/reports/monthly-income").param("month", month)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + report.etag() + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    private ReportResultStore.Result<DailyIncomeResponse> monthly(Long userId, LocalDate periodStart) {
+        return store.getOrCompute(userId, ReportType.MONTHLY_INCOME, periodStart, () -> {
+            calculations.incrementAndGet();
+            return new DailyIncomeResponse(BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(9));
+        });
+    }
+}
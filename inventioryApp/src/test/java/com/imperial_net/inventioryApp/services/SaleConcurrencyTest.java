@@ -0,0 +1,159 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.auth.service.CookieService;
+import com.imperial_net.inventioryApp.products.dto.ProductQuantityDTO;
+import com.imperial_net.inventioryApp.products.models.Product;
+import com.imperial_net.inventioryApp.products.repository.ProductRepository;
+import com.imperial_net.inventioryApp.products.service.StockReservationService;
+import com.imperial_net.inventioryApp.providers.model.Provider;
+import com.imperial_net.inventioryApp.providers.repository.ProviderRepository;
+import com.imperial_net.inventioryApp.purchases.model.Purchase;
+import com.imperial_net.inventioryApp.purchases.repository.PurchaseRepository;
+import com.imperial_net.inventioryApp.sales.dto.SaleRequestDTO;
+import com.imperial_net.inventioryApp.sales.model.PaymentMethod;
+import com.imperial_net.inventioryApp.sales.repository.SaleRepository;
+import com.imperial_net.inventioryApp.sales.service.SaleService;
+import com.imperial_net.inventioryApp.users.model.User;
+import com.imperial_net.inventioryApp.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Prueba de estrés de ventas simultáneas con tickets que comparten productos listados en distinto orden.
+ * Cada venta bloquea las filas de sus productos hasta confirmarse; si se bloquearan en el orden del ticket,
+ * dos cajas con los productos invertidos se esperarían mutuamente.
+ * La base embebida corre en modo MySQL para soportar los resúmenes diarios.
+ */
+@ServiceSliceTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:saleconcurrency;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada venta confirma su propia transacción
+class SaleConcurrencyTest {
+
+    private static final int THREADS_PER_ORDER = 4;
+    private static final int SALES_PER_THREAD = 20;
+    private static final BigDecimal INITIAL_STOCK = BigDecimal.valueOf(1000);
+
+    @Autowired
+    private CookieService cookieService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PurchaseRepository purchaseRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Test
+    void createSale_ShouldNotDeadlock_WhenTicketsListProductsInOppositeOrder() throws Exception {
+        User user = userRepository.save(TestUsers.user("30222333"));
+        when(cookieService.getUserFromCookie(any())).thenReturn(Optional.of(user));
+
+        Provider provider = new Provider();
+        provider.setName("Proveedor");
+        provider.setTaxId("30222333123");
+        provider.setCreatedBy(user);
+        provider = providerRepository.save(provider);
+
+        Product first = product(user, provider, "A");
+        Product second = product(user, provider, "B");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_PER_ORDER * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS_PER_ORDER * 2; t++) {
+            SaleRequestDTO ticket = t % 2 == 0 ? ticket(first, second) : ticket(second, first);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < SALES_PER_THREAD; i++) {
+                    saleService.createSale(ticket, new MockHttpServletRequest());
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS); // una espera mutua se vería como error de bloqueo o como timeout
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int sales = THREADS_PER_ORDER * 2 * SALES_PER_THREAD;
+        BigDecimal expectedStock = INITIAL_STOCK.subtract(BigDecimal.valueOf(sales));
+        assertEquals(sales, saleRepository.countByUser_Id(user.getId()));
+        assertEquals(0, expectedStock.compareTo(productRepository.findById(first.getId()).orElseThrow().getStock()));
+        assertEquals(0, expectedStock.compareTo(productRepository.findById(second.getId()).orElseThrow().getStock()));
+    }
+
+    private Product product(User user, Provider provider, String code) {
+        Product product = new Product();
+        product.setCode(code);
+        product.setName("Producto " + code);
+        product.setSalePrice(BigDecimal.TEN);
+        product.setMinStock(BigDecimal.ONE);
+        product.setRegistratedBy(user);
+        product = productRepository.save(product); // @PrePersist deja el stock en 0
+
+        Purchase purchase = new Purchase();
+        purchase.setProduct(product);
+        purchase.setProvider(provider);
+        purchase.setRegistredBy(user);
+        purchase.setPurchaseDate(LocalDate.now());
+        purchase.setPurchasePrice(BigDecimal.ONE);
+        purchase.setQuantity(INITIAL_STOCK);
+        purchaseRepository.save(purchase);
+        stockReservationService.release(product.getId(), INITIAL_STOCK);
+        return product;
+    }
+
+    private static SaleRequestDTO ticket(Product... products) {
+        SaleRequestDTO ticket = new SaleRequestDTO();
+        ticket.setPaymentMethod(PaymentMethod.values()[0].name());
+        List<ProductQuantityDTO> lines = new ArrayList<>();
+        for (Product product : products) {
+            ProductQuantityDTO line = new ProductQuantityDTO();
+            line.setProductId(product.getId());
+            line.setQuantity(BigDecimal.ONE);
+            lines.add(line);
+        }
+        ticket.setProducts(lines);
+        return ticket;
+    }
+}
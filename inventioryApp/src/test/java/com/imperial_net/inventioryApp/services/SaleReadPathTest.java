@@ -0,0 +1,155 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.auth.service.CookieService;
+import com.imperial_net.inventioryApp.clients.models.Client;
+import com.imperial_net.inventioryApp.pagination.CursorPageDTO;
+import com.imperial_net.inventioryApp.products.models.Brand;
+import com.imperial_net.inventioryApp.products.models.Product;
+import com.imperial_net.inventioryApp.reports.service.DailySummaryService;
+import com.imperial_net.inventioryApp.sales.dto.SaleResponseDTO;
+import com.imperial_net.inventioryApp.sales.model.PaymentMethod;
+import com.imperial_net.inventioryApp.sales.model.Sale;
+import com.imperial_net.inventioryApp.sales.model.SaleDetail;
+import com.imperial_net.inventioryApp.sales.model.SaleStatus;
+import com.imperial_net.inventioryApp.sales.service.SaleService;
+import com.imperial_net.inventioryApp.users.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que los listados de ventas usen una cantidad fija de consultas, sin importar cuántas
+ * ventas, detalles, productos, marcas y clientes haya.
+ */
+@ServiceSliceTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SaleReadPathTest {
+
+    private static final int DETAILS_PER_SALE = 3;
+
+    @Autowired
+    private CookieService cookieService;
+
+    @MockitoBean
+    private DailySummaryService dailySummaryService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void salesReadPath_ShouldUseSameStatementCount_ForSmallAndLargeData() {
+        User small = seed("10000001", 2);
+        long smallList = countStatements(small, () -> saleService.getAllSales(new MockHttpServletRequest()));
+        long smallPage = countStatements(small, () -> saleService.getSalesPage(new MockHttpServletRequest(), null, 50));
+
+        User large = seed("10000002", 40);
+        List<SaleResponseDTO> largeSales = new ArrayList<>();
+        long largeList = countStatements(large, () -> largeSales.addAll(saleService.getAllSales(new MockHttpServletRequest())));
+        AtomicReference<CursorPageDTO<SaleResponseDTO>> largePage = new AtomicReference<>();
+        long largePageCount = countStatements(large, () -> {
+            largePage.set(saleService.getSalesPage(new MockHttpServletRequest(), null, 50));
+            return null;
+        });
+
+        assertEquals(40, largeSales.size());
+        assertTrue(largeSales.stream().allMatch(sale -> sale.getSaleDetails().size() == DETAILS_PER_SALE
+                && sale.getClient() != null
+                && sale.getSaleDetails().get(0).getProductBrandName() != null));
+        assertEquals(40, largePage.get().getItems().size());
+
+        assertEquals(smallList, largeList, "El listado completo no debe crecer con la cantidad de ventas");
+        assertEquals(smallPage, largePageCount, "La página no debe crecer con la cantidad de ventas");
+        assertTrue(largeList <= 2, "Listado: " + largeList + " consultas"); // ventas + usuario
+        assertTrue(largePageCount <= 3, "Página: " + largePageCount + " consultas"); // IDs + ventas + usuario
+    }
+
+    private long countStatements(User user, Supplier<?> action) {
+        when(cookieService.getUserFromCookie(any())).thenReturn(Optional.of(user));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User seed(String documentNumber, int sales) {
+        User user = TestUsers.user(documentNumber);
+        entityManager.persist(user);
+
+        for (int i = 0; i < sales; i++) {
+            Client client = new Client();
+            client.setName("Cliente");
+            client.setLastname(String.valueOf(i));
+            client.setDocumentNumber(documentNumber + String.format("%03d", i));
+            client.setCreatedBy(user);
+            entityManager.persist(client);
+
+            Sale sale = new Sale();
+            sale.setUser(user);
+            sale.setCustomer(client);
+            sale.setPaymentMethod(PaymentMethod.values()[0]);
+            sale.setStatus(SaleStatus.CONFIRMED);
+            sale.setTotalSale(BigDecimal.TEN);
+            sale.setTotalCost(BigDecimal.ONE);
+            sale.setGrossProfit(BigDecimal.ONE);
+            sale.setNetProfit(BigDecimal.ONE);
+            sale.setSaleDetails(new ArrayList<>());
+            for (int d = 0; d < DETAILS_PER_SALE; d++) {
+                sale.getSaleDetails().add(detail(sale, product(user, documentNumber + "-" + i + "-" + d)));
+            }
+            entityManager.persist(sale);
+        }
+        return user;
+    }
+
+    private Product product(User user, String code) {
+        Brand brand = new Brand();
+        brand.setName("Marca " + code);
+        entityManager.persist(brand);
+
+        Product product = new Product();
+        product.setCode(code);
+        product.setName("Producto " + code);
+        product.setSalePrice(BigDecimal.TEN);
+        product.setMinStock(BigDecimal.ONE);
+        product.setBrand(brand);
+        product.setRegistratedBy(user);
+        entityManager.persist(product);
+        return product;
+    }
+
+    private SaleDetail detail(Sale sale, Product product) {
+        SaleDetail detail = new SaleDetail();
+        detail.setSale(sale);
+        detail.setProduct(product);
+        detail.setQuantity(BigDecimal.ONE);
+        detail.setSalePrice(BigDecimal.TEN);
+        detail.setSubtotal(BigDecimal.TEN);
+        detail.setCostPrice(BigDecimal.ONE);
+        return detail;
+    }
+}
@@ -0,0 +1,32 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.clients.service.ClientService;
+import com.imperial_net.inventioryApp.export.NdjsonExporter;
+import com.imperial_net.inventioryApp.products.service.BrandResolver;
+import com.imperial_net.inventioryApp.products.service.LowStockTracker;
+import com.imperial_net.inventioryApp.products.service.ProductCatalogCache;
+import com.imperial_net.inventioryApp.products.service.ProductService;
+import com.imperial_net.inventioryApp.products.service.StockReservationService;
+import com.imperial_net.inventioryApp.reports.service.DailySummaryService;
+import com.imperial_net.inventioryApp.reports.service.ReportResultStore;
+import com.imperial_net.inventioryApp.reports.service.ReportService;
+import com.imperial_net.inventioryApp.sales.service.SaleDetailService;
+import com.imperial_net.inventioryApp.sales.service.SaleService;
+import com.imperial_net.inventioryApp.suscriptions.service.PlanQuotaService;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Servicios del dominio que cargan las pruebas de {@link ServiceSliceTest}.
+ * Al sumar una dependencia a un servicio se agrega aquí, y no en cada prueba.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Import({SaleService.class, SaleDetailService.class, ClientService.class, ProductService.class,
+        StockReservationService.class, LowStockTracker.class, ProductCatalogCache.class, BrandResolver.class,
+        PlanQuotaService.class, ReportService.class, DailySummaryService.class, ReportResultStore.class,
+        NdjsonExporter.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class) // ReportResultStore y NdjsonExporter usan el ObjectMapper
+class ServiceSliceConfig {
+}
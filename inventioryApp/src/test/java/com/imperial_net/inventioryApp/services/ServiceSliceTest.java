@@ -0,0 +1,27 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.auth.service.CookieService;
+import com.imperial_net.inventioryApp.users.service.UserService;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Prueba de servicios sobre la base embebida: un {@link DataJpaTest} con los servicios de {@link ServiceSliceConfig}.
+ * {@link UserService} se simula porque InventioryAppApplication lo usa al iniciar, y {@link CookieService} porque
+ * las pruebas no tienen sesión; quien necesite fijar el usuario de la sesión obtiene el simulado con {@code @Autowired}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest
+@Import(ServiceSliceConfig.class)
+@MockitoBean(types = {UserService.class, CookieService.class})
+@interface ServiceSliceTest {
+}
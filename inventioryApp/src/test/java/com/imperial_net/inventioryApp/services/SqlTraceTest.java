@@ -0,0 +1,64 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.products.repository.ProductRepository;
+import com.imperial_net.inventioryApp.tracing.SqlTrace;
+import com.imperial_net.inventioryApp.tracing.SqlTraceConfig;
+import com.imperial_net.inventioryApp.users.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que la traza SQL de una petición cuente las sentencias ejecutadas en su hilo y en las tareas
+ * a las que se propaga, y que sin traza activa no se registre nada.
+ */
+@ServiceSliceTest
+@Import(SqlTraceConfig.class)
+class SqlTraceTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SqlTrace.end();
+    }
+
+    @Test
+    void trace_ShouldCountStatementsOfRequestAndPropagatedTasks() throws Exception {
+        SqlTrace trace = SqlTrace.begin(2);
+
+        productRepository.countByRegistratedBy_Id(1L);
+        productRepository.findLowStockProductsByUser(1L);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture.runAsync(SqlTrace.wrap(() -> userRepository.findByEmail("nadie@test.com")), executor).get();
+            CompletableFuture.runAsync(() -> userRepository.findByEmail("otro@test.com"), executor).get(); // sin propagar
+            assertNull(executor.submit(SqlTrace::current).get()); // el hilo del ejecutor queda sin traza
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(3, trace.getStatements());
+        assertEquals(2, trace.getSlowest().size());
+        assertTrue(trace.getSlowest().stream().allMatch(statement -> statement.sql().toLowerCase().startsWith("select")));
+        assertTrue(trace.getSlowest().get(0).nanos() >= trace.getSlowest().get(1).nanos());
+    }
+
+    @Test
+    void withoutTrace_ShouldRecordNothing() {
+        productRepository.countByRegistratedBy_Id(1L);
+        assertNull(SqlTrace.current());
+    }
+}
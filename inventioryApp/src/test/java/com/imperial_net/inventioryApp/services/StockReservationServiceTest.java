@@ -0,0 +1,155 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.products.events.LowStockChangedEvent;
+import com.imperial_net.inventioryApp.products.models.Product;
+import com.imperial_net.inventioryApp.products.repository.ProductRepository;
+import com.imperial_net.inventioryApp.products.service.LowStockTracker;
+import com.imperial_net.inventioryApp.products.service.StockReservationService;
+import com.imperial_net.inventioryApp.users.model.User;
+import com.imperial_net.inventioryApp.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de estrés del descuento atómico de stock contra una base embebida.
+ * Cada hilo usa su propia transacción, igual que dos cajas vendiendo el mismo producto.
+ */
+@ServiceSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada reserva confirma su propia transacción
+@RecordApplicationEvents
+class StockReservationServiceTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final int INITIAL_STOCK = 100;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private LowStockTracker lowStockTracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User owner = userRepository.save(TestUsers.user("30111222"));
+
+        Product newProduct = new Product();
+        newProduct.setCode("P-1");
+        newProduct.setName("Producto concurrente");
+        newProduct.setSalePrice(BigDecimal.TEN);
+        newProduct.setMinStock(BigDecimal.ONE);
+        newProduct.setRegistratedBy(owner);
+        product = productRepository.save(newProduct); // @PrePersist deja el stock en 0
+
+        stockReservationService.release(product.getId(), BigDecimal.valueOf(INITIAL_STOCK));
+    }
+
+    @Test
+    void tryReserve_ShouldNeverOversell_WhenManyThreadsCompete() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    if (stockReservationService.tryReserve(product.getId(), BigDecimal.ONE)) {
+                        accepted.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        BigDecimal finalStock = productRepository.findById(product.getId()).orElseThrow().getStock();
+
+        assertEquals(INITIAL_STOCK, accepted.get()); // se vendió exactamente lo disponible
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - INITIAL_STOCK, rejected.get());
+        assertEquals(0, finalStock.compareTo(BigDecimal.ZERO)); // nunca queda stock negativo
+    }
+
+    @Test
+    void tryReserve_ShouldRejectAndKeepStock_WhenQuantityExceedsStock() {
+        assertFalse(stockReservationService.tryReserve(product.getId(), BigDecimal.valueOf(INITIAL_STOCK + 1)));
+
+        BigDecimal stock = productRepository.findById(product.getId()).orElseThrow().getStock();
+        assertEquals(0, stock.compareTo(BigDecimal.valueOf(INITIAL_STOCK)));
+    }
+
+    @Test
+    void stockMovements_ShouldKeepLowStockFlagAndPublishTransitions() {
+        Long ownerId = product.getRegistratedBy().getId();
+        assertTrue(productRepository.findLowStockProductsByUser(ownerId).isEmpty());
+
+        assertTrue(stockReservationService.tryReserve(product.getId(), BigDecimal.valueOf(INITIAL_STOCK - 1)));
+        assertTrue(stockReservationService.tryReserve(product.getId(), BigDecimal.ONE)); // ya tenía stock bajo
+        assertEquals(List.of(new LowStockChangedEvent(product.getId(), true)), lowStockEvents());
+        assertEquals(1, productRepository.findLowStockProductsByUser(ownerId).size());
+
+        stockReservationService.release(product.getId(), BigDecimal.TEN);
+        assertEquals(new LowStockChangedEvent(product.getId(), false), lowStockEvents().get(1));
+        assertTrue(productRepository.findLowStockProductsByUser(ownerId).isEmpty());
+    }
+
+    @Test
+    void initializeMissing_ShouldFlagOnlyProductsWithoutIndicator() {
+        Long ownerId = product.getRegistratedBy().getId();
+        assertTrue(stockReservationService.tryReserve(product.getId(), BigDecimal.valueOf(INITIAL_STOCK)));
+        jdbcTemplate.update("UPDATE products SET low_stock = NULL"); // Producto anterior al indicador
+
+        assertEquals(1, lowStockTracker.initializeMissing());
+        assertEquals(1, productRepository.findLowStockProductsByUser(ownerId).size());
+        assertEquals(0, lowStockTracker.initializeMissing()); // Ya calculado
+    }
+
+    private List<LowStockChangedEvent> lowStockEvents() {
+        // El alta inicial de stock en setUp también publica la recuperación del producto
+        return events.stream(LowStockChangedEvent.class).skip(1).toList();
+    }
+}
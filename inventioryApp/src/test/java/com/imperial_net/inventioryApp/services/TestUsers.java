@@ -0,0 +1,43 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.suscriptions.model.Subscription;
+import com.imperial_net.inventioryApp.users.model.Role;
+import com.imperial_net.inventioryApp.users.model.User;
+
+/**
+ * Usuarios de prueba: negocios habilitados que solo difieren en el documento, del que se derivan el email único
+ * y el teléfono.
+ */
+final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    /**
+     * @param documentNumber documento del usuario, distinto en cada usuario de la prueba.
+     * @return un usuario sin guardar con el plan PRO.
+     */
+    static User user(String documentNumber) {
+        return user(documentNumber, Subscription.PRO);
+    }
+
+    /**
+     * @param documentNumber documento del usuario, distinto en cada usuario de la prueba.
+     * @param subscription   plan del usuario.
+     * @return un usuario sin guardar.
+     */
+    static User user(String documentNumber, Subscription subscription) {
+        return User.builder()
+                .firstName("Test")
+                .lastName("Negocio " + documentNumber)
+                .documentNumber(documentNumber)
+                .phone("2923" + documentNumber)
+                .address("Calle 123")
+                .email(documentNumber + "@test.com")
+                .password("secret")
+                .role(Role.USER)
+                .enabled(true)
+                .subscription(subscription)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.imperial_net.inventioryApp.services;
+
+import com.imperial_net.inventioryApp.security.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private VerifiedTokenCache cache;
+    private UserDetails user;
+    private Date expiration;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(2, 60);
+        user = new User("cache@test.com", "secret", List.of());
+        expiration = new Date(System.currentTimeMillis() + 3600000);
+    }
+
+    @Test
+    void get_ShouldReturnPrincipal_WhenTokenWasVerified() {
+        cache.put(TOKEN, user, expiration, cache.generation());
+
+        assertSame(user, cache.get(TOKEN).orElseThrow());
+        assertTrue(cache.get("otro.token.firma").isEmpty());
+    }
+
+    @Test
+    void invalidateUser_ShouldDropTokensAndRejectStalePut() {
+        long generation = cache.generation();
+        cache.put(TOKEN, user, expiration, generation);
+
+        cache.invalidateUser("cache@test.com");
+        assertTrue(cache.get(TOKEN).isEmpty());
+
+        // Un usuario cargado antes de la invalidación no debe volver a la caché
+        cache.put(TOKEN, user, expiration, generation);
+        assertTrue(cache.get(TOKEN).isEmpty());
+    }
+
+    @Test
+    void put_ShouldIgnoreExpiredTokensAndRespectCapacity() {
+        cache.put(TOKEN, user, new Date(System.currentTimeMillis() - 1000), cache.generation());
+        assertTrue(cache.get(TOKEN).isEmpty());
+
+        cache.put("a", user, expiration, cache.generation());
+        cache.put("b", user, expiration, cache.generation());
+        cache.put("c", user, expiration, cache.generation());
+        assertTrue(cache.get("c").isEmpty());
+    }
+}